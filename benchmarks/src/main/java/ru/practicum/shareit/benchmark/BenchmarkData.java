@@ -0,0 +1,178 @@
+package ru.practicum.shareit.benchmark;
+
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingDto;
+import ru.practicum.shareit.booking.BookingMapper;
+import ru.practicum.shareit.booking.BookingShort;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.comment.Comment;
+import ru.practicum.shareit.comment.CommentMapper;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemDetails;
+import ru.practicum.shareit.item.ItemDto;
+import ru.practicum.shareit.item.ItemMapper;
+import ru.practicum.shareit.request.ItemRequest;
+import ru.practicum.shareit.user.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+// данные, похожие на ответы сервера: у вещи владелец, запрос и несколько отзывов
+final class BenchmarkData {
+    static final int COMMENTS_PER_ITEM = 3;
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+    private BenchmarkData() {
+    }
+
+    static List<User> users(int size) {
+        List<User> users = new ArrayList<>(size);
+        for (long i = 1; i <= size; i++) {
+            users.add(new User(i, "Пользователь " + i, "user" + i + "@mail.ru"));
+        }
+        return users;
+    }
+
+    static List<ItemRequest> requests(List<User> users) {
+        List<ItemRequest> requests = new ArrayList<>(users.size());
+        for (User user : users) {
+            requests.add(ItemRequest.builder()
+                    .id(user.getId())
+                    .description("Нужна дрель с набором сверл, номер " + user.getId())
+                    .requester(user)
+                    .created(NOW.minusDays(user.getId() % 30))
+                    .build());
+        }
+        return requests;
+    }
+
+    static List<Item> items(List<User> users, List<ItemRequest> requests) {
+        List<Item> items = new ArrayList<>(users.size());
+        for (int i = 0; i < users.size(); i++) {
+            items.add(Item.builder()
+                    .id((long) i + 1)
+                    .name("Дрель " + (i + 1))
+                    .description("Аккумуляторная дрель, два аккумулятора и кейс")
+                    .available(i % 5 != 0)
+                    .owner(users.get(i))
+                    .request(i % 2 == 0 ? requests.get(i) : null)
+                    .build());
+        }
+        return items;
+    }
+
+    static List<Booking> bookings(List<Item> items, List<User> users) {
+        List<Booking> bookings = new ArrayList<>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            bookings.add(Booking.builder()
+                    .id((long) i + 1)
+                    .start(NOW.plusDays(i % 30))
+                    .end(NOW.plusDays(i % 30 + 2))
+                    .item(items.get(i))
+                    .booker(users.get((i + 1) % users.size()))
+                    .status(BookingStatus.values()[i % BookingStatus.values().length])
+                    .build());
+        }
+        return bookings;
+    }
+
+    static List<Comment> comments(List<Item> items, List<User> users) {
+        List<Comment> comments = new ArrayList<>(items.size() * COMMENTS_PER_ITEM);
+        long id = 1;
+        for (int i = 0; i < items.size(); i++) {
+            for (int j = 0; j < COMMENTS_PER_ITEM; j++) {
+                comments.add(Comment.builder()
+                        .id(id++)
+                        .text("Отличная дрель, справилась со всеми задачами")
+                        .item(items.get(i))
+                        .author(users.get((i + j + 1) % users.size()))
+                        .created(NOW.minusHours(j))
+                        .build());
+            }
+        }
+        return comments;
+    }
+
+    // строки запроса владельца: по одной на каждый отзыв вещи
+    static List<List<ItemDetails>> itemDetails(List<Item> items, List<Comment> comments) {
+        List<List<ItemDetails>> details = new ArrayList<>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            Item item = items.get(i);
+            List<ItemDetails> rows = new ArrayList<>(COMMENTS_PER_ITEM);
+            for (Comment comment : comments.subList(i * COMMENTS_PER_ITEM, (i + 1) * COMMENTS_PER_ITEM)) {
+                rows.add(new ItemDetails(item.getId(), item.getName(), item.getDescription(),
+                        item.getAvailable(), item.getOwner().getId(), item.getOwner().getName(),
+                        item.getRequest() != null ? item.getRequest().getId() : null,
+                        comment.getId(), comment.getText(), comment.getAuthor().getName(),
+                        comment.getCreated()));
+            }
+            details.add(rows);
+        }
+        return details;
+    }
+
+    // вещи в том виде, в котором их отдает GET /items: с бронированиями и отзывами
+    static List<ItemDto> itemDtos(List<Item> items, List<Booking> bookings, List<Comment> comments) {
+        List<ItemDto> dtos = new ArrayList<>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            ItemDto dto = ItemMapper.toItemDto(items.get(i));
+            Booking booking = bookings.get(i);
+            dto.setLastBooking(new Slot(booking, -7));
+            dto.setNextBooking(new Slot(booking, 0));
+            dto.setComments(comments.subList(i * COMMENTS_PER_ITEM, (i + 1) * COMMENTS_PER_ITEM).stream()
+                    .map(CommentMapper::toCommentDto)
+                    .collect(Collectors.toList()));
+            dtos.add(dto);
+        }
+        return dtos;
+    }
+
+    static List<BookingDto> bookingDtos(List<Booking> bookings) {
+        return bookings.stream()
+                .map(BookingMapper::toBookingDto)
+                .collect(Collectors.toList());
+    }
+
+    static List<LegacyBookingDto> legacyBookingDtos(List<Booking> bookings) {
+        return bookings.stream()
+                .map(LegacyBookingDto::new)
+                .collect(Collectors.toList());
+    }
+
+    private static final class Slot implements BookingShort {
+        private final Booking booking;
+        private final long shiftDays;
+
+        private Slot(Booking booking, long shiftDays) {
+            this.booking = booking;
+            this.shiftDays = shiftDays;
+        }
+
+        @Override
+        public Long getId() {
+            return booking.getId();
+        }
+
+        @Override
+        public Long getItemId() {
+            return booking.getItem().getId();
+        }
+
+        @Override
+        public Long getBookerId() {
+            return booking.getBooker().getId();
+        }
+
+        @Override
+        public LocalDateTime getStart() {
+            return booking.getStart().plusDays(shiftDays);
+        }
+
+        @Override
+        public LocalDateTime getEnd() {
+            return booking.getEnd().plusDays(shiftDays);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.ShareItServer;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.ItemSearchIndex;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// поиск одной страницы вещей: JPQL-запрос с LIKE против триграммного индекса в памяти, база H2 профиля test
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ItemSearchIndexBenchmark {
+    private static final int PAGE_SIZE = 20;
+    private static final String[] NAMES = {"Дрель", "Отвертка", "Перфоратор", "Лобзик", "Шуруповерт",
+        "Болгарка", "Стремянка", "Пила"};
+    private static final String[] DESCRIPTIONS = {"Аккумуляторная, два аккумулятора и кейс",
+        "Сетевая, кабель пять метров", "Почти новая, с набором насадок", "Профессиональная, в кейсе",
+        "Для дачи и небольшого ремонта"};
+
+    @Param({"1000", "10000"})
+    private int size;
+
+    // "дрель" встречается в каждой восьмой вещи, "кейс" - в двух описаниях из пяти
+    @Param({"дрель", "кейс"})
+    private String text;
+
+    private ConfigurableApplicationContext context;
+    private ItemRepository repository;
+    private ItemSearchIndex searchIndex;
+    private Pageable page;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(ShareItServer.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .properties("shareit.search.mode=INDEX",
+                        "spring.datasource.url=jdbc:h2:mem:benchmark-" + size,
+                        "spring.jpa.properties.hibernate.generate_statistics=false",
+                        "logging.level.root=WARN")
+                .run();
+        repository = context.getBean(ItemRepository.class);
+        searchIndex = context.getBean(ItemSearchIndex.class);
+        page = PageRequest.of(0, PAGE_SIZE);
+        User owner = context.getBean(UserRepository.class)
+                .save(new User(null, "Владелец", "owner@mail.ru"));
+        List<Item> items = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            items.add(Item.builder()
+                    .name(NAMES[i % NAMES.length] + " " + i)
+                    .description(DESCRIPTIONS[i % DESCRIPTIONS.length])
+                    .available(i % 10 != 0)
+                    .owner(owner)
+                    .build());
+        }
+        repository.saveAll(items);
+        searchIndex.build(); // при старте контекста база еще пуста
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Item> like() {
+        return repository.searchItemsByTextInNameAndDescription(text, page);
+    }
+
+    // как в ItemServiceImpl для режима INDEX: идентификаторы из индекса, затем сами вещи одним запросом
+    @Benchmark
+    public List<Item> index() {
+        return repository.findAllById(searchIndex.search(text, 0, PAGE_SIZE));
+    }
+}
@@ -0,0 +1,51 @@
+package ru.practicum.shareit.benchmark;
+
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.user.User;
+
+import java.time.LocalDateTime;
+
+// прежний формат BookingDto: вещь и арендатор отдавались целыми сущностями вместе с владельцем и запросом
+public class LegacyBookingDto {
+    private final Long id;
+    private final LocalDateTime start;
+    private final LocalDateTime end;
+    private final Item item;
+    private final User booker;
+    private final BookingStatus status;
+
+    LegacyBookingDto(Booking booking) {
+        this.id = booking.getId();
+        this.start = booking.getStart();
+        this.end = booking.getEnd();
+        this.item = booking.getItem();
+        this.booker = booking.getBooker();
+        this.status = booking.getStatus();
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public LocalDateTime getStart() {
+        return start;
+    }
+
+    public LocalDateTime getEnd() {
+        return end;
+    }
+
+    public Item getItem() {
+        return item;
+    }
+
+    public User getBooker() {
+        return booker;
+    }
+
+    public BookingStatus getStatus() {
+        return status;
+    }
+}
@@ -0,0 +1,81 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingMapper;
+import ru.practicum.shareit.comment.Comment;
+import ru.practicum.shareit.comment.CommentMapper;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemDetails;
+import ru.practicum.shareit.item.ItemMapper;
+import ru.practicum.shareit.request.ItemRequest;
+import ru.practicum.shareit.request.ItemRequestsMapper;
+import ru.practicum.shareit.user.User;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// одна операция - преобразование всей страницы из size сущностей
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapperBenchmark {
+    // 10 и 100 - обычные размеры страниц, 1000 - выгрузка всех вещей владельца
+    @Param({"10", "100", "1000"})
+    private int size;
+
+    private List<Item> items;
+    private List<List<ItemDetails>> itemDetails;
+    private List<Booking> bookings;
+    private List<Comment> comments;
+    private List<ItemRequest> requests;
+
+    @Setup
+    public void setUp() {
+        List<User> users = BenchmarkData.users(size);
+        requests = BenchmarkData.requests(users);
+        items = BenchmarkData.items(users, requests);
+        bookings = BenchmarkData.bookings(items, users);
+        comments = BenchmarkData.comments(items, users);
+        itemDetails = BenchmarkData.itemDetails(items, comments);
+    }
+
+    @Benchmark
+    public void itemToDto(Blackhole blackhole) {
+        for (Item item : items) {
+            blackhole.consume(ItemMapper.toItemDto(item));
+        }
+    }
+
+    @Benchmark
+    public void itemDetailsToDto(Blackhole blackhole) {
+        for (List<ItemDetails> rows : itemDetails) {
+            blackhole.consume(ItemMapper.toItemDto(rows));
+        }
+    }
+
+    @Benchmark
+    public void bookingToDto(Blackhole blackhole) {
+        for (Booking booking : bookings) {
+            blackhole.consume(BookingMapper.toBookingDto(booking));
+        }
+    }
+
+    @Benchmark
+    public void commentToDto(Blackhole blackhole) {
+        for (Comment comment : comments) {
+            blackhole.consume(CommentMapper.toCommentDto(comment));
+        }
+    }
+
+    @Benchmark
+    public void itemRequestToDto(Blackhole blackhole) {
+        for (ItemRequest request : requests) {
+            blackhole.consume(ItemRequestsMapper.toItemRequestDto(request));
+        }
+    }
+}
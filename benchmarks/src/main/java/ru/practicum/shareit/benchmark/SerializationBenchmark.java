@@ -0,0 +1,69 @@
+package ru.practicum.shareit.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingDto;
+import ru.practicum.shareit.comment.Comment;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemDto;
+import ru.practicum.shareit.user.User;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// сериализация тел ответов GET /items и GET /bookings тем же ObjectMapper, что собирает Spring Boot
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializationBenchmark {
+    @Param({"10", "100", "1000"})
+    private int size;
+
+    private ObjectMapper objectMapper;
+    private List<ItemDto> itemDtos;
+    private List<BookingDto> bookingDtos;
+    private List<LegacyBookingDto> legacyBookingDtos;
+
+    @Setup
+    public void setUp() {
+        objectMapper = objectMapper();
+        List<User> users = BenchmarkData.users(size);
+        List<Item> items = BenchmarkData.items(users, BenchmarkData.requests(users));
+        List<Booking> bookings = BenchmarkData.bookings(items, users);
+        List<Comment> comments = BenchmarkData.comments(items, users);
+        itemDtos = BenchmarkData.itemDtos(items, bookings, comments);
+        bookingDtos = BenchmarkData.bookingDtos(bookings);
+        legacyBookingDtos = BenchmarkData.legacyBookingDtos(bookings);
+    }
+
+    @Benchmark
+    public byte[] itemDtoList() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(itemDtos);
+    }
+
+    @Benchmark
+    public byte[] bookingDtoList() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(bookingDtos);
+    }
+
+    // базовая линия для bookingDtoList: тот же список в формате до перехода на плоские DTO
+    @Benchmark
+    public byte[] legacyBookingDtoList() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(legacyBookingDtos);
+    }
+
+    // настройки по умолчанию из JacksonAutoConfiguration: даты и периоды пишутся строками ISO-8601
+    static ObjectMapper objectMapper() {
+        return Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS,
+                        SerializationFeature.WRITE_DURATIONS_AS_TIMESTAMPS)
+                .build();
+    }
+}
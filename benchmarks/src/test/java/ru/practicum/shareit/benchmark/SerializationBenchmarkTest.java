@@ -0,0 +1,41 @@
+package ru.practicum.shareit.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.user.User;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// размеры тел ответов, которые сериализует SerializationBenchmark
+class SerializationBenchmarkTest {
+    private static final int SIZE = 100;
+
+    private final ObjectMapper objectMapper = SerializationBenchmark.objectMapper();
+    private final List<Booking> bookings = bookings();
+
+    @Test
+    void flatBookingDtosAreAtMostHalfOfLegacyPayload() throws JsonProcessingException {
+        int flat = objectMapper.writeValueAsBytes(BenchmarkData.bookingDtos(bookings)).length;
+        int legacy = objectMapper.writeValueAsBytes(BenchmarkData.legacyBookingDtos(bookings)).length;
+
+        assertThat(flat).isLessThanOrEqualTo(legacy / 2);
+    }
+
+    @Test
+    void datesAreWrittenAsIsoStrings() throws JsonProcessingException {
+        String json = objectMapper.writeValueAsString(BenchmarkData.bookingDtos(bookings.subList(0, 1)));
+
+        assertThat(json).contains("\"start\":\"2024-01-01T12:00:00\"", "\"end\":\"2024-01-03T12:00:00\"");
+    }
+
+    private static List<Booking> bookings() {
+        List<User> users = BenchmarkData.users(SIZE);
+        List<Item> items = BenchmarkData.items(users, BenchmarkData.requests(users));
+        return BenchmarkData.bookings(items, users);
+    }
+}
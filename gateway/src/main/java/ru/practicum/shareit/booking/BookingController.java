@@ -7,6 +7,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.booking.dto.BookItemRequestDto;
 import ru.practicum.shareit.booking.dto.BookingState;
 
@@ -23,45 +24,49 @@ public class BookingController {
     private final BookingClient bookingClient;
 
     @GetMapping
-    public ResponseEntity<Object> getAllUserBookings(@RequestHeader("X-Sharer-User-Id") @Positive long userId,
-                                                     @RequestParam(defaultValue = "ALL") String state,
-                                                     @PositiveOrZero @RequestParam(defaultValue = "0") Integer from,
-                                                     @Positive @RequestParam(defaultValue = "10") Integer size) {
+    public Mono<ResponseEntity<byte[]>> getAllUserBookings(
+            @RequestHeader("X-Sharer-User-Id") @Positive long userId,
+            @RequestParam(defaultValue = "ALL") String state,
+            @PositiveOrZero @RequestParam(defaultValue = "0") Integer from,
+            @Positive @RequestParam(defaultValue = "10") Integer size,
+            @RequestParam(required = false) String cursor) {
         BookingState bookingState = BookingState.from(state)
                 .orElseThrow(() -> new IllegalArgumentException("Unknown state: " + state));
         log.info("Get users bookings, userId={}", userId);
-        return bookingClient.getAllUserBookings(userId, bookingState, from, size);
+        return bookingClient.getAllUserBookings(userId, bookingState, from, size, cursor);
     }
 
     @GetMapping("/owner")
-    public ResponseEntity<Object> getAllOwnerBookings(@RequestHeader("X-Sharer-User-Id") @Positive long userId,
-                                                      @RequestParam(name = "state", defaultValue = "all") String state,
-                                                      @PositiveOrZero @RequestParam(defaultValue = "0") Integer from,
-                                                      @Positive @RequestParam(defaultValue = "10") Integer size) {
+    public Mono<ResponseEntity<byte[]>> getAllOwnerBookings(
+            @RequestHeader("X-Sharer-User-Id") @Positive long userId,
+            @RequestParam(name = "state", defaultValue = "all") String state,
+            @PositiveOrZero @RequestParam(defaultValue = "0") Integer from,
+            @Positive @RequestParam(defaultValue = "10") Integer size,
+            @RequestParam(required = false) String cursor) {
         BookingState bookingState = BookingState.from(state)
                 .orElseThrow(() -> new IllegalArgumentException("Unknown state: " + state));
         log.info("Get owner bookings, userId={}", userId);
-        return bookingClient.getAllOwnerBookings(userId, bookingState, from, size);
+        return bookingClient.getAllOwnerBookings(userId, bookingState, from, size, cursor);
     }
 
     @PostMapping
-    public ResponseEntity<Object> addBookItem(@RequestHeader("X-Sharer-User-Id") long userId,
-                                              @RequestBody @Valid BookItemRequestDto requestDto) {
+    public Mono<ResponseEntity<byte[]>> addBookItem(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                    @RequestBody @Valid BookItemRequestDto requestDto) {
         log.info("Creating booking {}, userId={}", requestDto, userId);
         return bookingClient.addBookingItem(userId, requestDto);
     }
 
     @PatchMapping("{bookingId}")
-    public ResponseEntity<Object> updateBooking(@RequestHeader("X-Sharer-User-Id") long userId,
-                                                @PathVariable Long bookingId,
-                                                @RequestParam boolean approved) {
+    public Mono<ResponseEntity<byte[]>> updateBooking(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                      @PathVariable Long bookingId,
+                                                      @RequestParam boolean approved) {
         log.info("Updating booking {}, userId={}, approved={}", bookingId, userId, approved);
         return bookingClient.updateBookingItem(bookingId, userId, approved);
     }
 
     @GetMapping("/{bookingId}")
-    public ResponseEntity<Object> getBooking(@RequestHeader("X-Sharer-User-Id") long userId,
-                                             @PathVariable Long bookingId) {
+    public Mono<ResponseEntity<byte[]>> getBooking(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                   @PathVariable Long bookingId) {
         log.info("Get booking {}, userId={}", bookingId, userId);
         return bookingClient.getBooking(userId, bookingId);
     }
@@ -0,0 +1,92 @@
+package ru.practicum.shareit.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+@Component
+public class ResponseCache {
+    private final Cache<String, ResponseEntity<byte[]>> cache;
+    private final Map<String, Mono<ResponseEntity<byte[]>>> inFlight = new ConcurrentHashMap<>();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public ResponseCache(ResponseCacheProperties properties, MeterRegistry registry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(properties.getTtl())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(registry, cache, "gateway.responses");
+    }
+
+    // ответ зависит от пользователя (владелец вещи видит бронирования), поэтому он входит в ключ
+    public static String key(String path, @Nullable Long userId, @Nullable Map<String, Object> parameters) {
+        String uri = UriComponentsBuilder.fromUriString(path)
+                .buildAndExpand(parameters != null ? parameters : Map.of())
+                .toUriString();
+        return uri + "#" + userId;
+    }
+
+    public Mono<ResponseEntity<byte[]>> get(String key, Supplier<Mono<ResponseEntity<byte[]>>> loader) {
+        return Mono.defer(() -> {
+            ResponseEntity<byte[]> cached = cache.getIfPresent(key);
+            if (cached != null) {
+                return Mono.just(cached);
+            }
+            long stamp = invalidations.get();
+            return loader.get().doOnNext(response -> put(key, response, stamp));
+        });
+    }
+
+    // параллельные одинаковые запросы получают ответ одного обращения к серверу
+    public Mono<ResponseEntity<byte[]>> coalesce(String key, Mono<ResponseEntity<byte[]>> request) {
+        return Mono.defer(() -> {
+            Mono<ResponseEntity<byte[]>> shared = inFlight.computeIfAbsent(key, k -> request.cache());
+            return shared.doFinally(signal -> inFlight.remove(key, shared));
+        });
+    }
+
+    public void invalidate(String... resources) {
+        invalidations.incrementAndGet();
+        for (String resource : resources) {
+            // запросы, начатые до изменения, не должны отдавать свой ответ новым клиентам
+            inFlight.keySet().removeIf(key -> belongsTo(key, resource));
+            cache.asMap().keySet().removeIf(key -> belongsTo(key, resource));
+        }
+    }
+
+    // ресурс /users/1 включает /users/1?... и /users/1/..., но не /users/10
+    private static boolean belongsTo(String key, String resource) {
+        return key.startsWith(resource)
+                && (key.length() == resource.length() || "/?#".indexOf(key.charAt(resource.length())) >= 0);
+    }
+
+    private void put(String key, ResponseEntity<byte[]> response, long stamp) {
+        if (response.getStatusCode() != HttpStatus.OK || isNoStore(response)) {
+            return;
+        }
+        cache.put(key, response);
+        // ответ мог быть получен до изменения данных, прошедшего параллельно с запросом
+        if (stamp != invalidations.get()) {
+            cache.invalidate(key);
+        }
+    }
+
+    // сервер запрещает кэширование ответов, зависящих от текущего времени
+    private static boolean isNoStore(ResponseEntity<byte[]> response) {
+        String cacheControl = response.getHeaders().getCacheControl();
+        return cacheControl != null && cacheControl.contains("no-store");
+    }
+}
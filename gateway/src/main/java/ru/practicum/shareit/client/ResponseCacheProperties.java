@@ -0,0 +1,13 @@
+package ru.practicum.shareit.client;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "shareit-gateway.response-cache")
+public class ResponseCacheProperties {
+    private long maximumSize = 10_000; // число закэшированных ответов
+    private Duration ttl = Duration.ofSeconds(30);
+}
@@ -0,0 +1,41 @@
+package ru.practicum.shareit.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpRequestDecorator;
+import org.springframework.web.server.WebFilter;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.concurrent.Executors;
+
+@Configuration
+@ConditionalOnProperty(name = "shareit-gateway.threads.virtual", havingValue = "true")
+public class VirtualThreadConfig {
+
+    @Bean(destroyMethod = "dispose")
+    public Scheduler virtualThreadScheduler() {
+        return Schedulers.fromExecutorService(Executors.newVirtualThreadPerTaskExecutor(), "virtual");
+    }
+
+    // обработчики запросов, валидация и кэш ответов выполняются в виртуальных потоках,
+    // а не в цикле событий Netty; запросы к серверу по-прежнему неблокирующие
+    @Bean
+    public WebFilter virtualThreadWebFilter(Scheduler virtualThreadScheduler) {
+        return (exchange, chain) -> {
+            // тело запроса приходит в потоке Netty, а обработчик вызывается после его чтения
+            ServerHttpRequest request = new ServerHttpRequestDecorator(exchange.getRequest()) {
+                @Override
+                public Flux<DataBuffer> getBody() {
+                    return super.getBody().publishOn(virtualThreadScheduler);
+                }
+            };
+            return chain.filter(exchange.mutate().request(request).build())
+                    .subscribeOn(virtualThreadScheduler);
+        };
+    }
+}
@@ -1,10 +1,10 @@
 package ru.practicum.shareit.exception;
 
-import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.support.WebExchangeBindException;
 
 @RestControllerAdvice
 public class ErrorHandler {
@@ -23,7 +23,7 @@ public class ErrorHandler {
 
     @ExceptionHandler
     @ResponseStatus(HttpStatus.BAD_REQUEST)
-    public ErrorResponse handlerArgumentNotValidException(final MethodArgumentNotValidException e) {
+    public ErrorResponse handlerArgumentNotValidException(final WebExchangeBindException e) {
         return new ErrorResponse(e.getMessage());
     }
 
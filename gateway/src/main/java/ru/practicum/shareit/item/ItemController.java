@@ -2,15 +2,18 @@ package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 
 import javax.validation.Valid;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
+import java.time.LocalDateTime;
 
 @RestController
 @RequestMapping("/items")
@@ -22,55 +25,70 @@ public class ItemController {
     private final ItemClient itemClient;
 
     @PostMapping
-    public ResponseEntity<Object> addItem(@Positive @RequestHeader("X-Sharer-User-Id") Long userId,
-                                          @Valid @RequestBody ItemDto itemDto) {
+    public Mono<ResponseEntity<byte[]>> addItem(@Positive @RequestHeader("X-Sharer-User-Id") Long userId,
+                                                @Valid @RequestBody ItemDto itemDto) {
         log.info("Creating item={}, userId={}", itemDto, userId);
         return itemClient.addItem(userId, itemDto);
     }
 
     @PatchMapping("/{itemId}")
-    public ResponseEntity<Object> updateItem(@Positive @RequestHeader("X-Sharer-User-Id") Long userId,
-                                             @RequestBody ItemDto itemDto,
-                                             @Positive @PathVariable long itemId) {
+    public Mono<ResponseEntity<byte[]>> updateItem(@Positive @RequestHeader("X-Sharer-User-Id") Long userId,
+                                                   @RequestBody ItemDto itemDto,
+                                                   @Positive @PathVariable long itemId) {
         log.info("Updating items={}, userId={}", itemDto, userId);
         return itemClient.updateItem(userId, itemDto, itemId);
     }
 
     @GetMapping("/{itemId}")
-    public ResponseEntity<Object> getItemById(@Positive @RequestHeader("X-Sharer-User-Id") Long userId,
-                                              @Positive @PathVariable Long itemId) {
+    public Mono<ResponseEntity<byte[]>> getItemById(@Positive @RequestHeader("X-Sharer-User-Id") Long userId,
+                                                    @Positive @PathVariable Long itemId) {
         log.info("Get item={}, userId={}", itemId, userId);
         return itemClient.getItem(itemId, userId);
     }
 
     @DeleteMapping("/{itemId}")
-    public ResponseEntity<Object> deleteItemById(@Positive @RequestHeader("X-Sharer-User-Id") @Positive Long ownerId,
-                                                 @Positive @PathVariable Long itemId) {
+    public Mono<ResponseEntity<byte[]>> deleteItemById(
+            @Positive @RequestHeader("X-Sharer-User-Id") @Positive Long ownerId,
+            @Positive @PathVariable Long itemId) {
         log.info("Delete item={}, userId={}", itemId, ownerId);
         return itemClient.deleteItem(ownerId, itemId);
     }
 
     @GetMapping
-    public ResponseEntity<Object> getAllOwnerItems(@Positive @RequestHeader("X-Sharer-User-Id") Long userId,
-                                                   @PositiveOrZero @RequestParam(defaultValue = "0") Integer from,
-                                                   @Positive @RequestParam(defaultValue = "10") Integer size) {
+    public Mono<ResponseEntity<byte[]>> getAllOwnerItems(@Positive @RequestHeader("X-Sharer-User-Id") Long userId,
+                                                         @PositiveOrZero @RequestParam(defaultValue = "0") Integer from,
+                                                         @Positive @RequestParam(defaultValue = "10") Integer size,
+                                                         @RequestParam(required = false) String cursor) {
         log.info("Get owner items, userId={}", userId);
-        return itemClient.getAllItems(userId, from, size);
+        return itemClient.getAllItems(userId, from, size, cursor);
     }
 
     @GetMapping("/search")
-    public ResponseEntity<Object> searchItems(@Positive @RequestHeader("X-Sharer-User-Id") Long userId,
-                                              @PositiveOrZero @RequestParam(defaultValue = "0") Integer from,
-                                              @Positive @RequestParam(defaultValue = "10") Integer size,
-                                              @RequestParam(name = "text", required = false) String text) {
+    public Mono<ResponseEntity<byte[]>> searchItems(@Positive @RequestHeader("X-Sharer-User-Id") Long userId,
+                                                    @PositiveOrZero @RequestParam(defaultValue = "0") Integer from,
+                                                    @Positive @RequestParam(defaultValue = "10") Integer size,
+                                                    @RequestParam(name = "text", required = false) String text) {
         log.info("Get search items by text, text={}", text);
         return itemClient.searchItems(userId, text, from, size);
     }
 
+    @GetMapping("/{itemId}/availability")
+    public Mono<ResponseEntity<byte[]>> getAvailability(
+            @Positive @RequestHeader("X-Sharer-User-Id") Long userId,
+            @Positive @PathVariable Long itemId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        if (!to.isAfter(from)) {
+            throw new IllegalArgumentException("Окончание периода должно быть позже его начала.");
+        }
+        log.info("Get item availability, itemId={}, from={}, to={}", itemId, from, to);
+        return itemClient.getAvailability(userId, itemId, from, to);
+    }
+
     @PostMapping("/{itemId}/comment")
-    public ResponseEntity<Object> addComment(@Positive @RequestHeader("X-Sharer-User-Id") Long userId,
-                                             @Positive @PathVariable Long itemId,
-                                             @Valid @RequestBody CommentDto commentDto) {
+    public Mono<ResponseEntity<byte[]>> addComment(@Positive @RequestHeader("X-Sharer-User-Id") Long userId,
+                                                   @Positive @PathVariable Long itemId,
+                                                   @Valid @RequestBody CommentDto commentDto) {
         log.info("Creating comment={} about items={}, userId={}", commentDto, itemId, userId);
         return itemClient.addComment(userId, commentDto, itemId);
     }
@@ -0,0 +1,66 @@
+package ru.practicum.shareit.monitoring;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Locale;
+
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class ServiceTimingAspect {
+    private static final String METRIC_NAME = "shareit.service";
+    // те же значения outcome, что и на сервере: success, client_error, server_error, cancelled
+    private static final String SUCCESS = "success";
+    private static final String SERVER_ERROR = "server_error";
+    private static final String CANCELLED = "cancelled";
+    private static final String NO_EXCEPTION = "none";
+    private final MeterRegistry registry;
+
+    // время считается от подписки до завершения ответа сервера, а не до сборки Mono
+    @Around("within(@org.springframework.stereotype.Service ru.practicum.shareit..*) && execution(public * *(..))")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        Object result = joinPoint.proceed();
+        String className = joinPoint.getSignature().getDeclaringType().getSimpleName();
+        String method = joinPoint.getSignature().getName();
+        if (result instanceof Mono) {
+            return Mono.defer(() -> {
+                Timer.Sample sample = Timer.start(registry);
+                return ((Mono<?>) result)
+                        .doOnSuccess(value -> stop(sample, className, method, getOutcome(value), NO_EXCEPTION))
+                        .doOnError(e -> stop(sample, className, method, SERVER_ERROR, e.getClass().getSimpleName()))
+                        .doOnCancel(() -> stop(sample, className, method, CANCELLED, NO_EXCEPTION));
+            });
+        }
+        if (result instanceof Flux) {
+            return Flux.defer(() -> {
+                Timer.Sample sample = Timer.start(registry);
+                return ((Flux<?>) result)
+                        .doOnComplete(() -> stop(sample, className, method, SUCCESS, NO_EXCEPTION))
+                        .doOnError(e -> stop(sample, className, method, SERVER_ERROR, e.getClass().getSimpleName()))
+                        .doOnCancel(() -> stop(sample, className, method, CANCELLED, NO_EXCEPTION));
+            });
+        }
+        return result;
+    }
+
+    private void stop(Timer.Sample sample, String className, String method, String outcome, String exception) {
+        sample.stop(registry.timer(METRIC_NAME, "class", className, "method", method,
+                "outcome", outcome, "exception", exception));
+    }
+
+    private static String getOutcome(Object value) {
+        if (value instanceof ResponseEntity && !((ResponseEntity<?>) value).getStatusCode().is2xxSuccessful()) {
+            return ((ResponseEntity<?>) value).getStatusCode().series().name().toLowerCase(Locale.ROOT);
+        }
+        return SUCCESS;
+    }
+}
@@ -5,6 +5,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 
 import javax.validation.Valid;
@@ -20,30 +21,31 @@ public class ItemRequestController {
     private final ItemRequestClient requestClient;
 
     @PostMapping
-    public ResponseEntity<Object> addRequest(@RequestHeader("X-Sharer-User-Id") @Positive long userId,
-                                             @Valid @RequestBody ItemRequestDto requestDto) {
+    public Mono<ResponseEntity<byte[]>> addRequest(@RequestHeader("X-Sharer-User-Id") @Positive long userId,
+                                                   @Valid @RequestBody ItemRequestDto requestDto) {
         log.info("Creating request {}, userId={}", requestDto, userId);
         return requestClient.addRequest(userId, requestDto);
     }
 
     @GetMapping("/{requestId}")
-    public ResponseEntity<Object> getRequest(@RequestHeader("X-Sharer-User-Id") @Positive long userId,
-                                             @PathVariable long requestId) {
+    public Mono<ResponseEntity<byte[]>> getRequest(@RequestHeader("X-Sharer-User-Id") @Positive long userId,
+                                                   @PathVariable long requestId) {
         log.info("Get request {}, userId={}", requestId, userId);
         return requestClient.getRequest(requestId, userId);
     }
 
     @GetMapping
-    public ResponseEntity<Object> getAllOwnerRequests(@RequestHeader("X-Sharer-User-Id") @Positive long userId) {
+    public Mono<ResponseEntity<byte[]>> getAllOwnerRequests(@RequestHeader("X-Sharer-User-Id") @Positive long userId) {
         log.info("Get all owner's requests, userId={}", userId);
         return requestClient.getAllItemRequestsByUser(userId);
     }
 
     @GetMapping("/all")
-    public ResponseEntity<Object> getAllRequests(@RequestHeader("X-Sharer-User-Id") @Positive long userId,
-                                                 @PositiveOrZero @RequestParam(defaultValue = "0") Integer from,
-                                                 @Positive @RequestParam(defaultValue = "10") Integer size) {
+    public Mono<ResponseEntity<byte[]>> getAllRequests(@RequestHeader("X-Sharer-User-Id") @Positive long userId,
+                                                       @PositiveOrZero @RequestParam(defaultValue = "0") Integer from,
+                                                       @Positive @RequestParam(defaultValue = "10") Integer size,
+                                                       @RequestParam(required = false) String cursor) {
         log.info("Get all requests, userId={}", userId);
-        return requestClient.getAllRequests(userId, from, size);
+        return requestClient.getAllRequests(userId, from, size, cursor);
     }
 }
\ No newline at end of file
@@ -2,45 +2,80 @@ package ru.practicum.shareit.user;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ResponseCache;
+import ru.practicum.shareit.item.ItemClient;
+import ru.practicum.shareit.request.ItemRequestClient;
 import ru.practicum.shareit.user.dto.UserDto;
 
+import java.util.Map;
+import java.util.Objects;
+
 @Service
 public class UserClient extends BaseClient {
-    private static final String API_PREFIX = "/users";
+    public static final String API_PREFIX = "/users";
 
     @Autowired
-    public UserClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public UserClient(@Value("${shareit-server.url}") String serverUrl, WebClient.Builder builder,
+                      ResponseCache cache) {
         super(
                 builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
+                        .baseUrl(serverUrl + API_PREFIX)
+                        .build(),
+                cache,
+                API_PREFIX
         );
     }
 
-    public ResponseEntity<Object> addUser(UserDto userDto) {
+    // новый пользователь не меняет закэшированные ответы, а изменение или удаление пользователя
+    // затрагивает его самого, вещи (имя владельца) и запросы
+    @Override
+    protected String[] affectedResources(HttpMethod method, String path) {
+        if (method == HttpMethod.POST) {
+            return new String[0];
+        }
+        return new String[]{API_PREFIX + path, ItemClient.API_PREFIX, ItemRequestClient.API_PREFIX};
+    }
+
+    public Mono<ResponseEntity<byte[]>> addUser(UserDto userDto) {
         return post("", userDto);
     }
 
-    public ResponseEntity<Object> updateUser(Long userId, UserDto userDto) {
+    public Mono<ResponseEntity<byte[]>> updateUser(Long userId, UserDto userDto) {
         return patch("/" + userId, userDto);
     }
 
-    public ResponseEntity<Object> deleteUser(Long userId) {
+    public Mono<ResponseEntity<byte[]>> deleteUser(Long userId) {
         return delete("/" + userId);
     }
 
-    public ResponseEntity<Object> getUser(Long userId) {
-        return get("/" + userId);
+    public Mono<ResponseEntity<byte[]>> getUser(Long userId) {
+        return cachedGet("/" + userId, null, null);
+    }
+
+    public Mono<ResponseEntity<byte[]>> getAllUsers(Integer from, Integer size, String cursor) {
+        Map<String, Object> parameters = Map.of(
+                "from", from,
+                "size", size,
+                "cursor", Objects.requireNonNullElse(cursor, "")
+        );
+        return get("?from={from}&size={size}&cursor={cursor}", null, parameters);
     }
 
-    public ResponseEntity<Object> getAllUsers() {
-        return get("");
+    // строки NDJSON передаются клиенту по мере получения от сервера, без накопления ответа
+    public Flux<DataBuffer> streamUsers() {
+        return client.get()
+                .uri("/stream")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .retrieve()
+                .bodyToFlux(DataBuffer.class);
     }
 }
\ No newline at end of file
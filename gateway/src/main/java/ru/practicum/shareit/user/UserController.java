@@ -2,13 +2,18 @@ package ru.practicum.shareit.user;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.user.dto.UserDto;
 
 import javax.validation.Valid;
 import javax.validation.constraints.Positive;
+import javax.validation.constraints.PositiveOrZero;
 
 @RestController
 @RequestMapping(path = "/users")
@@ -20,33 +25,41 @@ public class UserController {
     private final UserClient userClient;
 
     @PostMapping
-    public ResponseEntity<Object> addUser(@Valid @RequestBody UserDto userDto) {
+    public Mono<ResponseEntity<byte[]>> addUser(@Valid @RequestBody UserDto userDto) {
         log.info("Creating user={}", userDto);
         return userClient.addUser(userDto);
     }
 
     @PatchMapping("/{id}")
-    public ResponseEntity<Object> updateUser(@RequestBody UserDto userDto,
-                                             @Positive @PathVariable Long id) {
+    public Mono<ResponseEntity<byte[]>> updateUser(@RequestBody UserDto userDto,
+                                                   @Positive @PathVariable Long id) {
         log.info("Update user={}", userDto);
         return userClient.updateUser(id, userDto);
     }
 
     @DeleteMapping("/{id}")
-    public ResponseEntity<Object> deleteUser(@Positive @PathVariable Long id) {
+    public Mono<ResponseEntity<byte[]>> deleteUser(@Positive @PathVariable Long id) {
         log.info("Delete userId={}", id);
         return userClient.deleteUser(id);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Object> getUser(@Positive @PathVariable Long id) {
+    public Mono<ResponseEntity<byte[]>> getUser(@Positive @PathVariable Long id) {
         log.info("Get userId={}", id);
         return userClient.getUser(id);
     }
 
     @GetMapping
-    public ResponseEntity<Object> getAllUsers() {
-        log.info("Get all users");
-        return userClient.getAllUsers();
+    public Mono<ResponseEntity<byte[]>> getAllUsers(@PositiveOrZero @RequestParam(defaultValue = "0") Integer from,
+                                                    @Positive @RequestParam(defaultValue = "100") Integer size,
+                                                    @RequestParam(required = false) String cursor) {
+        log.info("Get all users, from={}, size={}", from, size);
+        return userClient.getAllUsers(from, size, cursor);
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<DataBuffer> streamUsers() {
+        log.info("Stream all users");
+        return userClient.streamUsers();
     }
 }
\ No newline at end of file
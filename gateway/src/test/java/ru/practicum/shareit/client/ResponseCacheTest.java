@@ -0,0 +1,161 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResponseCacheTest {
+    private static final int SUBSCRIBERS = 16;
+    private static final ResponseEntity<byte[]> OK = ResponseEntity.ok(new byte[]{1});
+
+    private final ResponseCache cache = new ResponseCache(new ResponseCacheProperties(), new SimpleMeterRegistry());
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    void responsesAreCachedPerUser() {
+        String owner = ResponseCache.key("/items/1", 1L, null);
+        String booker = ResponseCache.key("/items/1", 2L, null);
+
+        cache.get(owner, loader(OK)).block();
+        cache.get(owner, loader(OK)).block();
+        cache.get(booker, loader(OK)).block();
+
+        assertThat(owner).isNotEqualTo(booker);
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void invalidateRemovesResourceAndNestedPathsOnly() {
+        String user = ResponseCache.key("/users/1", null, null);
+        String otherUser = ResponseCache.key("/users/10", null, null);
+        String item = ResponseCache.key("/items/5", 1L, null);
+        String requests = ResponseCache.key("/requests/all/?from={from}", 1L, Map.of("from", 0));
+        for (String key : new String[]{user, otherUser, item, requests}) {
+            cache.get(key, loader(OK)).block();
+        }
+        loads.set(0);
+
+        cache.invalidate("/users/1", "/items", "/requests");
+        for (String key : new String[]{user, otherUser, item, requests}) {
+            cache.get(key, loader(OK)).block();
+        }
+
+        assertThat(loads).hasValue(3);
+    }
+
+    @Test
+    void responseLoadedDuringInvalidationIsNotStored() {
+        String key = ResponseCache.key("/items/1", 1L, null);
+        Supplier<Mono<ResponseEntity<byte[]>>> invalidatedWhileLoading = () -> Mono.fromSupplier(() -> {
+            loads.incrementAndGet();
+            cache.invalidate("/users/2");
+            return OK;
+        });
+
+        cache.get(key, invalidatedWhileLoading).block();
+        cache.get(key, loader(OK)).block();
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void onlyOkResponsesAreStored() {
+        String key = ResponseCache.key("/items/1", 1L, null);
+
+        cache.get(key, loader(ResponseEntity.status(HttpStatus.NOT_FOUND).build())).block();
+        cache.get(key, loader(ResponseEntity.status(HttpStatus.CREATED).body(new byte[]{1}))).block();
+        cache.get(key, loader(ResponseEntity.ok().cacheControl(CacheControl.noStore()).body(new byte[]{1}))).block();
+        cache.get(key, loader(OK)).block();
+        cache.get(key, loader(OK)).block();
+
+        assertThat(loads).hasValue(4);
+    }
+
+    @Test
+    void concurrentRequestsForSameKeyShareOneUpstreamCall() throws Exception {
+        String key = ResponseCache.key("/items/1", 1L, null);
+        Sinks.One<ResponseEntity<byte[]>> upstream = Sinks.one();
+        Mono<ResponseEntity<byte[]>> request = Mono.defer(() -> {
+            loads.incrementAndGet();
+            return upstream.asMono();
+        });
+        ExecutorService executor = Executors.newFixedThreadPool(SUBSCRIBERS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<CompletableFuture<ResponseEntity<byte[]>>>> subscriptions = new ArrayList<>();
+        try {
+            for (int i = 0; i < SUBSCRIBERS; i++) {
+                subscriptions.add(executor.submit(() -> {
+                    start.await();
+                    return cache.coalesce(key, request).toFuture();
+                }));
+            }
+            start.countDown();
+            List<CompletableFuture<ResponseEntity<byte[]>>> responses = new ArrayList<>();
+            for (Future<CompletableFuture<ResponseEntity<byte[]>>> subscription : subscriptions) {
+                responses.add(subscription.get());
+            }
+            upstream.tryEmitValue(OK);
+
+            for (CompletableFuture<ResponseEntity<byte[]>> response : responses) {
+                assertThat(response.get()).isSameAs(OK);
+            }
+            assertThat(loads).hasValue(1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void invalidationDropsInFlightRequest() {
+        String key = ResponseCache.key("/items/1", 1L, null);
+        Sinks.One<ResponseEntity<byte[]>> upstream = Sinks.one();
+        Mono<ResponseEntity<byte[]>> request = Mono.defer(() -> {
+            loads.incrementAndGet();
+            return upstream.asMono();
+        });
+
+        CompletableFuture<ResponseEntity<byte[]>> beforeChange = cache.coalesce(key, request).toFuture();
+        cache.invalidate("/items");
+        CompletableFuture<ResponseEntity<byte[]>> afterChange = cache.coalesce(key, request).toFuture();
+        upstream.tryEmitValue(OK);
+
+        assertThat(loads).hasValue(2);
+        assertThat(beforeChange).isCompletedWithValue(OK);
+        assertThat(afterChange).isCompletedWithValue(OK);
+    }
+
+    @Test
+    void completedRequestIsNotSharedWithLaterSubscribers() {
+        String key = ResponseCache.key("/items/1", 1L, null);
+        Mono<ResponseEntity<byte[]>> request = loader(OK).get();
+
+        cache.coalesce(key, request).block();
+        cache.coalesce(key, request).block();
+
+        assertThat(loads).hasValue(2);
+    }
+
+    private Supplier<Mono<ResponseEntity<byte[]>>> loader(ResponseEntity<byte[]> response) {
+        return () -> Mono.fromSupplier(() -> {
+            loads.incrementAndGet();
+            return response;
+        });
+    }
+}
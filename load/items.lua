@@ -0,0 +1,13 @@
+-- GET /items от случайного владельца; файл с идентификаторами пользователей готовит threads.sh
+local ids = {}
+
+function init(args)
+    for line in io.lines(args[1]) do
+        ids[#ids + 1] = line
+    end
+end
+
+function request()
+    local id = ids[math.random(#ids)]
+    return wrk.format("GET", "/items?from=0&size=10", { ["X-Sharer-User-Id"] = id })
+end
@@ -0,0 +1,92 @@
+#!/usr/bin/env bash
+# Сравнение пула потоков и виртуальных потоков (shareit.threads.virtual, shareit-gateway.threads.virtual):
+# для каждого режима запускает сервер и шлюз, нагружает GET /items через шлюз с помощью wrk
+# и выводит пропускную способность и p99 задержки.
+#
+# Перед запуском: mvn -B package -DskipTests && docker-compose up --detach db
+# Запуск: load/threads.sh [соединения] [длительность], по умолчанию 5000 соединений на 60s
+set -euo pipefail
+
+CONNECTIONS=${1:-5000}
+DURATION=${2:-60s}
+WRK_THREADS=${WRK_THREADS:-$(nproc)}
+MODES=${MODES:-"false true"}
+USERS=${USERS:-200}
+DB_URL=${DB_URL:-jdbc:postgresql://localhost:6541/shareit}
+DB_USER=${DB_USER:-Kate}
+DB_PASSWORD=${DB_PASSWORD:-purrrrrr}
+GATEWAY=http://localhost:8080
+
+ROOT=$(cd "$(dirname "$0")/.." && pwd)
+WORK=$(mktemp -d)
+PIDS=()
+
+stop_apps() {
+    for pid in "${PIDS[@]}"; do
+        kill "$pid" 2>/dev/null && wait "$pid" 2>/dev/null || true
+    done
+    PIDS=()
+}
+trap stop_apps EXIT
+
+wait_for() {
+    for _ in $(seq 120); do
+        curl -sf "$1/actuator/health" >/dev/null && return 0
+        sleep 1
+    done
+    echo "Нет ответа от $1" >&2
+    return 1
+}
+
+start_apps() {
+    java -jar "$ROOT"/server/target/shareit-server-*-exec.jar \
+        --shareit.threads.virtual="$1" \
+        --spring.datasource.url="$DB_URL" \
+        --spring.datasource.username="$DB_USER" \
+        --spring.datasource.password="$DB_PASSWORD" \
+        > "$WORK/server-$1.log" 2>&1 &
+    PIDS+=($!)
+    java -jar "$ROOT"/gateway/target/shareit-gateway-*.jar \
+        --shareit-gateway.threads.virtual="$1" \
+        --logging.level.org.springframework.web.reactive.function.client.ExchangeFunctions=INFO \
+        > "$WORK/gateway-$1.log" 2>&1 &
+    PIDS+=($!)
+    wait_for http://localhost:9090
+    wait_for "$GATEWAY"
+}
+
+# владельцы с одной вещью каждый; адреса почты уникальны для каждого запуска скрипта
+seed() {
+    for i in $(seq "$USERS"); do
+        id=$(curl -sf -X POST "$GATEWAY/users" -H 'Content-Type: application/json' \
+            -d "{\"name\":\"load $i\",\"email\":\"load$i-$$@mail.ru\"}" | sed -E 's/.*"id":([0-9]+).*/\1/')
+        curl -sf -X POST "$GATEWAY/items" -H 'Content-Type: application/json' -H "X-Sharer-User-Id: $id" \
+            -d "{\"name\":\"Дрель $i\",\"description\":\"Аккумуляторная дрель\",\"available\":true}" >/dev/null
+        echo "$id" >> "$WORK/users.txt"
+    done
+}
+
+ulimit -n "$((CONNECTIONS + 1024))" 2>/dev/null || echo "Не удалось поднять лимит открытых файлов: $(ulimit -n)" >&2
+
+printf "%-8s %12s %10s %8s\n" virtual req/s p99 errors > "$WORK/summary.txt"
+for mode in $MODES; do
+    start_apps "$mode"
+    [ -s "$WORK/users.txt" ] || seed
+    # прогрев JIT и пулов соединений
+    wrk -t"$WRK_THREADS" -c"$((CONNECTIONS / 10 + 1))" -d10s -s "$ROOT/load/items.lua" "$GATEWAY" \
+        -- "$WORK/users.txt" >/dev/null
+    wrk -t"$WRK_THREADS" -c"$CONNECTIONS" -d"$DURATION" --timeout 30s --latency -s "$ROOT/load/items.lua" \
+        "$GATEWAY" -- "$WORK/users.txt" | tee "$WORK/wrk-$mode.txt"
+    awk -v mode="$mode" '
+        /Requests\/sec/ { rps = $2 }
+        $1 == "99%" { p99 = $2 }
+        /Non-2xx/ { errors += $NF }
+        /Socket errors/ { errors += $4 + $6 + $8 + $10 }
+        END { printf "%-8s %12s %10s %8d\n", mode, rps, p99, errors }
+    ' "$WORK/wrk-$mode.txt" >> "$WORK/summary.txt"
+    stop_apps
+done
+
+echo
+cat "$WORK/summary.txt"
+echo "Логи и полный вывод wrk: $WORK"
@@ -1,8 +1,10 @@
 package ru.practicum.shareit.booking;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.pagination.Cursor;
 
 import javax.validation.Valid;
 import javax.validation.constraints.Positive;
@@ -23,6 +25,12 @@ public class BookingController {
         return BookingMapper.toBookingDto(service.save(booking, userId, bookingDtoNew.getItemId()));
     }
 
+    @PostMapping("/import") // загрузить список бронирований пакетными вставками
+    public int importBookings(@RequestBody List<@Valid BookingDtoNew> bookings,
+                              @RequestHeader(name = "X-Sharer-User-Id") Long userId) {
+        return service.importBookings(userId, bookings);
+    }
+
     @DeleteMapping("/{bookingId}") // удалить бронирование
     public void deleteById(@PathVariable("bookingId") Long bookingId) {
         service.deleteById(bookingId);
@@ -42,20 +50,24 @@ public class BookingController {
     }
 
     @GetMapping // получить список всех бронирований
-    public List<BookingDto> getAllByBooker(@RequestParam(value = "from", defaultValue = "0")
-                                           @PositiveOrZero int fromPage,
-                                           @RequestParam(defaultValue = "10") @Positive int size,
-                                           @RequestHeader("X-Sharer-User-Id") Long userId,
-                                           @RequestParam(defaultValue = "ALL") String state) {
-        return service.findAllByBooker(userId, state, fromPage, size);
+    public ResponseEntity<List<BookingDto>> getAllByBooker(@RequestParam(value = "from", defaultValue = "0")
+                                                           @PositiveOrZero int fromPage,
+                                                           @RequestParam(defaultValue = "10") @Positive int size,
+                                                           @RequestParam(required = false) String cursor,
+                                                           @RequestHeader("X-Sharer-User-Id") Long userId,
+                                                           @RequestParam(defaultValue = "ALL") String state) {
+        List<BookingDto> bookings = service.findAllByBooker(userId, state, fromPage, size, Cursor.decode(cursor));
+        return Cursor.toResponse(bookings, size, booking -> Cursor.of(booking.getStart(), booking.getId()));
     }
 
     @GetMapping("/owner") // получить список всех бронирований собственника вещей
-    public List<BookingDto> findAllByOwner(@RequestParam(value = "from", defaultValue = "0")
-                                           @PositiveOrZero int fromPage,
-                                           @RequestParam(defaultValue = "10") @Positive int size,
-                                           @RequestHeader("X-Sharer-User-Id") Long userId,
-                                           @RequestParam(defaultValue = "ALL") String state) {
-        return service.findAllByOwner(userId, state, fromPage, size);
+    public ResponseEntity<List<BookingDto>> findAllByOwner(@RequestParam(value = "from", defaultValue = "0")
+                                                           @PositiveOrZero int fromPage,
+                                                           @RequestParam(defaultValue = "10") @Positive int size,
+                                                           @RequestParam(required = false) String cursor,
+                                                           @RequestHeader("X-Sharer-User-Id") Long userId,
+                                                           @RequestParam(defaultValue = "ALL") String state) {
+        List<BookingDto> bookings = service.findAllByOwner(userId, state, fromPage, size, Cursor.decode(cursor));
+        return Cursor.toResponse(bookings, size, booking -> Cursor.of(booking.getStart(), booking.getId()));
     }
 }
@@ -1,20 +1,38 @@
 package ru.practicum.shareit.booking;
 
 import lombok.*;
-import ru.practicum.shareit.item.Item;
-import ru.practicum.shareit.user.User;
 
 import java.time.LocalDateTime;
 
 @Data
-@Builder
 @AllArgsConstructor
 @NoArgsConstructor
 public class BookingDto {
     private Long id;
     private LocalDateTime start;
     private LocalDateTime end;
-    private Item item;
-    private User booker;
+    private ItemShort item;
+    private BookerShort booker;
     private BookingStatus status;
+
+    // используется в конструкторе проекции запроса списка бронирований
+    public BookingDto(Long id, LocalDateTime start, LocalDateTime end,
+                      Long itemId, String itemName, Long bookerId, BookingStatus status) {
+        this(id, start, end, new ItemShort(itemId, itemName), new BookerShort(bookerId), status);
+    }
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class ItemShort {
+        private Long id;
+        private String name;
+    }
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class BookerShort {
+        private Long id;
+    }
 }
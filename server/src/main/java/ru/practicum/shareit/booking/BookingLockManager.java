@@ -0,0 +1,57 @@
+package ru.practicum.shareit.booking;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.exception.ConflictException;
+
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+@Slf4j
+@Component
+public class BookingLockManager {
+    private final Lock[] stripes;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxAttempts;
+
+    public BookingLockManager(PlatformTransactionManager transactionManager,
+                              @Value("${shareit.booking.lock-stripes:64}") int stripes,
+                              @Value("${shareit.booking.max-attempts:3}") int maxAttempts) {
+        this.stripes = new Lock[Integer.highestOneBit(Math.max(stripes - 1, 1)) << 1];
+        for (int i = 0; i < this.stripes.length; i++) {
+            this.stripes[i] = new ReentrantLock();
+        }
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxAttempts = maxAttempts;
+    }
+
+    public <T> T executeInLock(Long itemId, Supplier<T> action) {
+        Lock lock = stripes[index(itemId)];
+        lock.lock();
+        try {
+            for (int attempt = 1; ; attempt++) {
+                try {
+                    return transactionTemplate.execute(status -> action.get());
+                } catch (OptimisticLockingFailureException e) {
+                    if (attempt >= maxAttempts) {
+                        log.debug("Бронирование вещи {} не сохранено после {} попыток.", itemId, attempt);
+                        throw new ConflictException("Бронирование вещи изменено другим запросом, повторите попытку.");
+                    }
+                    log.debug("Конфликт версий при бронировании вещи {}, попытка {}.", itemId, attempt);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private int index(Long itemId) {
+        int hash = itemId.hashCode();
+        return (hash ^ (hash >>> 16)) & (stripes.length - 1);
+    }
+}
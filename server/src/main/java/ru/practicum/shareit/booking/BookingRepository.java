@@ -1,71 +1,30 @@
 package ru.practicum.shareit.booking;
 
-import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
-public interface BookingRepository extends JpaRepository<Booking, Long> {
+public interface BookingRepository extends JpaRepository<Booking, Long>, BookingRepositoryCustom {
 
-    @Query("SELECT    b FROM Booking AS b " +
-            "WHERE    b.booker.id = ?1 " +
-            "ORDER BY b.start DESC ")
-    List<Booking> findAllByBookerId(Long userId, Pageable pageable);
-
-    @Query("SELECT    b FROM Booking AS b " +
-            "WHERE    b.booker.id = ?1 " +
-            "AND      b.end < ?2 " +
-            "ORDER BY b.start DESC ")
-    List<Booking> findPastByBookerId(Long userId, LocalDateTime now, Pageable pageable);
-
-    @Query("SELECT    b FROM Booking AS b " +
-            "WHERE    b.booker.id = ?1 " +
-            "AND      b.start > ?2 " +
-            "ORDER BY b.start DESC ")
-    List<Booking> findFutureByBookerId(Long userId, LocalDateTime now, Pageable pageable);
+    @Override
+    @EntityGraph("Booking.details")
+    Optional<Booking> findById(Long bookingId);
 
-    @Query("SELECT    b FROM Booking AS b " +
-            "WHERE    b.booker.id = ?1 " +
-            "AND      ?2 BETWEEN b.start AND  b.end  " +
-            "ORDER BY b.start DESC ")
-    List<Booking> findCurrentByBookerId(Long userId, LocalDateTime now, Pageable pageable);
+    @Query("SELECT b.item.id FROM Booking AS b WHERE b.id = ?1")
+    Optional<Long> findItemIdById(Long bookingId);
 
-    @Query("SELECT    b FROM Booking AS b " +
-            "WHERE    b.booker.id = ?1 " +
-            "AND      b.status = ?2 " +
-            "ORDER BY b.start DESC ")
-    List<Booking> findByBookerIdAndStatus(Long userId, BookingStatus bookingStatus, Pageable pageable);
-
-    @Query("SELECT    b FROM Booking AS b " +
-            "WHERE    b.item.owner.id = ?1 " +
-            "ORDER BY b.start DESC ")
-    List<Booking> findAllByOwnerId(Long userId, Pageable pageable);
-
-    @Query("SELECT    b FROM Booking AS b " +
-            "WHERE    b.item.owner.id = ?1 " +
-            "AND      b.end < ?2 " +
-            "ORDER BY b.start DESC ")
-    List<Booking> findPastByOwnerId(Long userId, LocalDateTime now, Pageable pageable);
-
-    @Query("SELECT    b FROM Booking AS b " +
-            "WHERE    b.item.owner.id = ?1 " +
-            "AND      b.start > ?2 " +
-            "ORDER BY b.start DESC ")
-    List<Booking> findFutureByOwnerId(Long userId, LocalDateTime now, Pageable pageable);
-
-    @Query("SELECT    b FROM Booking AS b " +
-            "WHERE    b.item.owner.id = ?1 " +
-            "AND      ?2 BETWEEN b.start AND b.end " +
-            "ORDER BY b.start DESC ")
-    List<Booking> findCurrentByOwnerId(Long userId, LocalDateTime now, Pageable pageable);
-
-    @Query("SELECT    b FROM Booking AS b " +
-            "WHERE    b.item.owner.id = ?1 " +
-            "AND      b.status = ?2 " +
-            "ORDER BY b.start DESC ")
-    List<Booking> findByOwnerIdAndStatus(Long userId, BookingStatus bookingStatus, Pageable pageable);
+    @Query("SELECT    b.id AS id, b.item.id AS itemId, b.booker.id AS bookerId, b.start AS start, b.end AS end " +
+            "FROM     Booking AS b " +
+            "WHERE    b.item.id = ?1 " +
+            "AND      b.end > ?2 " +
+            "AND      b.status IN ('APPROVED', 'WAITING') " +
+            "ORDER BY b.start ")
+    List<BookingShort> findBusyIntervals(Long itemId, LocalDateTime from);
 
     @Query("SELECT    b FROM Booking AS b " +
             "WHERE    b.booker.id = ?1 " +
@@ -74,15 +33,21 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
             "AND      b.status = 'APPROVED'")
     Booking findCompletedBooking(Long userId, Long itemId, LocalDateTime now);
 
-    @Query("SELECT    b FROM Booking AS b " +
-            "WHERE    b.item.id = ?1 " +
-            "AND      b.end < ?2 " +
-            "ORDER BY b.end DESC ")
-    List<Booking> findLastBooking(Long itemId, LocalDateTime end);
-
-    @Query("SELECT    b FROM Booking AS b " +
+    @Query("SELECT    CASE WHEN COUNT(b) > 0 THEN true ELSE false END FROM Booking AS b " +
             "WHERE    b.item.id = ?1 " +
-            "AND      b.start > ?2 " +
-            "ORDER BY b.start ASC ")
-    List<Booking> findNextBooking(Long itemId, LocalDateTime start);
-}
\ No newline at end of file
+            "AND      b.status = 'APPROVED' " +
+            "AND      b.start < ?3 " +
+            "AND      b.end > ?2")
+    boolean existsApprovedOverlapping(Long itemId, LocalDateTime start, LocalDateTime end);
+
+    @Query(value = "SELECT b.id AS \"id\", b.item_id AS \"itemId\", b.booker_id AS \"bookerId\", " +
+            "       b.start_date AS \"start\", b.end_date AS \"end\" " +
+            "FROM   (SELECT bk.*, ROW_NUMBER() OVER (" +
+            "               PARTITION BY bk.item_id, CASE WHEN bk.end_date < ?2 THEN 0 ELSE 1 END " +
+            "               ORDER BY CASE WHEN bk.end_date < ?2 THEN bk.end_date END DESC, bk.start_date ASC) AS rn " +
+            "        FROM   bookings AS bk " +
+            "        WHERE  bk.item_id IN (?1) " +
+            "        AND    (bk.end_date < ?2 OR bk.start_date > ?2)) AS b " +
+            "WHERE  b.rn = 1", nativeQuery = true)
+    List<BookingShort> findLastAndNextBookings(Collection<Long> itemIds, LocalDateTime now);
+}
@@ -0,0 +1,13 @@
+package ru.practicum.shareit.booking;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+public interface BookingRepositoryCustom {
+
+    List<BookingDto> findAllAsDto(Specification<Booking> specification, Pageable pageable);
+
+    void persistInBatches(List<Booking> bookings);
+}
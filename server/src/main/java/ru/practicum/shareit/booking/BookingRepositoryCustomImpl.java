@@ -0,0 +1,49 @@
+package ru.practicum.shareit.booking;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Root;
+import java.util.List;
+
+public class BookingRepositoryCustomImpl implements BookingRepositoryCustom {
+    @PersistenceContext
+    private EntityManager entityManager;
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    private int batchSize;
+
+    @Override
+    public List<BookingDto> findAllAsDto(Specification<Booking> specification, Pageable pageable) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<BookingDto> query = builder.createQuery(BookingDto.class);
+        Root<Booking> root = query.from(Booking.class);
+        query.select(builder.construct(BookingDto.class, root.get("id"), root.get("start"), root.get("end"),
+                        root.get("item").get("id"), root.get("item").get("name"), root.get("booker").get("id"),
+                        root.get("status")))
+                .where(specification.toPredicate(root, query, builder))
+                .orderBy(QueryUtils.toOrders(pageable.getSort(), root, builder));
+        return entityManager.createQuery(query) // без подсчета общего количества, в отличие от Page
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize())
+                .getResultList();
+    }
+
+    @Override
+    public void persistInBatches(List<Booking> bookings) {
+        for (int i = 0; i < bookings.size(); i++) {
+            entityManager.persist(bookings.get(i));
+            if ((i + 1) % batchSize == 0) { // пакет вставок уходит одним обращением, контекст не разрастается
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+}
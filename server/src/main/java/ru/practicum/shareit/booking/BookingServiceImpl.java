@@ -2,22 +2,31 @@ package ru.practicum.shareit.booking;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.validation.annotation.Validated;
+import ru.practicum.shareit.exception.ConflictException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.exception.StateException;
 import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemAvailabilityCache;
+import ru.practicum.shareit.pagination.Cursor;
 import ru.practicum.shareit.item.ItemService;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserService;
 
+import java.sql.SQLException;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
@@ -25,13 +34,26 @@ import java.util.*;
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
 public class BookingServiceImpl implements BookingService {
+    private static final Sort SORT = Sort.by(Sort.Direction.DESC, "start", "id");
+    private static final String OVERLAP_CONSTRAINT = "ex_bookings_approved_overlap";
+    private static final String EXCLUSION_VIOLATION = "23P01";
     private final BookingRepository repository;
     private final ItemService itemService;
     private final UserService userService;
+    private final BookingLockManager lockManager;
+    private final ItemAvailabilityCache availabilityCache;
+    @Value("${shareit.bookings.import.max-size:1000}")
+    private int importMaxSize;
 
     @Override
-    @Transactional
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public Booking save(Booking booking, Long userId, Long itemId) {
+        Booking savedBooking = lockManager.executeInLock(itemId, () -> create(booking, userId, itemId));
+        availabilityCache.evict(itemId);
+        return savedBooking;
+    }
+
+    private Booking create(Booking booking, Long userId, Long itemId) {
         Item item = itemService.findById(itemId);
         User user = userService.findById(userId);
         if (user.getId().equals(item.getOwner().getId()) && userId.equals(item.getOwner().getId())) {
@@ -46,23 +68,79 @@ public class BookingServiceImpl implements BookingService {
             log.debug("При создании бронирования запрощена вещь {}, недоступная в указанный период.", itemId);
             throw new ValidationException("В указанный период вещь недоступна для бронирования.");
         }
+        checkIsPeriodFree(itemId, booking);
         booking.setItem(item);
         booking.setBooker(user);
         booking.setStatus(BookingStatus.WAITING);
         log.info("Создано бронирование вещи {} пользователем {}.", itemId, user.getId());
-        return repository.save(booking);
+        return saveAndCheckOverlap(booking);
+    }
+
+    @Override
+    @Transactional
+    public int importBookings(Long userId, List<BookingDtoNew> bookingsDto) {
+        if (bookingsDto.size() > importMaxSize) { // весь пакет сохраняется в одной транзакции
+            throw new ValidationException("За один запрос можно импортировать не более " + importMaxSize +
+                    " бронирований.");
+        }
+        User booker = userService.findById(userId);
+        Map<Long, Item> items = itemService.findAllById(bookingsDto.stream()
+                        .map(BookingDtoNew::getItemId)
+                        .collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(Item::getId, item -> item));
+        List<Booking> bookings = new ArrayList<>(bookingsDto.size());
+        LocalDateTime now = LocalDateTime.now();
+        for (BookingDtoNew bookingDto : bookingsDto) {
+            Item item = items.get(bookingDto.getItemId());
+            if (item == null) {
+                throw new NotFoundException("Не найдена вещь с идентификатором № " + bookingDto.getItemId());
+            }
+            if (booker.getId().equals(item.getOwner().getId())) {
+                throw new NotFoundException("Бронирование запрошено собственником вещи.");
+            }
+            if (!item.getAvailable()) {
+                throw new ValidationException("Вещь недоступна для бронирования.");
+            }
+            // те же ограничения, что у BookingDtoNew: импорт не проходит через проверки шлюза
+            if (bookingDto.getStart() == null || bookingDto.getEnd() == null
+                    || bookingDto.getStart().isBefore(now)
+                    || !bookingDto.getEnd().isAfter(bookingDto.getStart())) {
+                throw new ValidationException("Некорректный период бронирования вещи " + item.getId());
+            }
+            Booking booking = BookingMapper.toBookingNew(bookingDto);
+            booking.setItem(item);
+            booking.setBooker(booker);
+            booking.setStatus(BookingStatus.WAITING); // пересечения проверяются при подтверждении
+            bookings.add(booking);
+        }
+        repository.persistInBatches(bookings);
+        items.keySet().forEach(availabilityCache::evict);
+        log.info("Импортировано {} бронирований пользователя {}.", bookings.size(), userId);
+        return bookings.size();
     }
 
     @Override
     @Transactional
     public void deleteById(Long bookingId) {
         log.info("Удалено бронирование вещи {}.", bookingId);
+        Optional<Long> itemId = repository.findItemIdById(bookingId);
         repository.deleteById(bookingId);
+        itemId.ifPresent(availabilityCache::evict);
     }
 
     @Override
-    @Transactional
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public Booking changeBookingStatus(Long userId, Long bookingId, Boolean approved) {
+        Long itemId = repository.findItemIdById(bookingId)
+                .orElseThrow(() ->
+                        new NotFoundException("Не найдена вещь для бронирования с идентификатором № " + bookingId));
+        Booking savedBooking = lockManager.executeInLock(itemId, () -> updateStatus(userId, bookingId, approved));
+        availabilityCache.evict(itemId);
+        return savedBooking;
+    }
+
+    private Booking updateStatus(Long userId, Long bookingId, Boolean approved) {
         User user = userService.findById(userId);
         Booking booking = findById(userId, bookingId);
         Item item = itemService.findById(booking.getItem().getId());
@@ -82,6 +160,7 @@ public class BookingServiceImpl implements BookingService {
             throw new StateException("Бронирование вещи уже было отклонено ранее.");
         }
         if (approved) {
+            checkIsPeriodFree(item.getId(), booking);
             log.info("Cтатус бронирования вещи {} одобрен.", item.getId());
             booking.setStatus(BookingStatus.APPROVED);
         } else {
@@ -89,7 +168,40 @@ public class BookingServiceImpl implements BookingService {
             booking.setStatus(BookingStatus.REJECTED);
         }
         log.info("Cтатус бронирования вещи {} передан для сохранения в базе данных с № {}.", item.getId(), bookingId);
-        return repository.save(booking);
+        return saveAndCheckOverlap(booking);
+    }
+
+    private void checkIsPeriodFree(Long itemId, Booking booking) {
+        if (repository.existsApprovedOverlapping(itemId, booking.getStart(), booking.getEnd())) {
+            log.debug("Период бронирования вещи {} пересекается с одобренным бронированием.", itemId);
+            throw new ConflictException("Вещь уже забронирована в указанный период.");
+        }
+    }
+
+    private Booking saveAndCheckOverlap(Booking booking) {
+        try {
+            return repository.saveAndFlush(booking);
+        } catch (DataIntegrityViolationException e) {
+            if (!isOverlapViolation(e)) {
+                throw e;
+            }
+            log.debug("Одобренное бронирование вещи {} отклонено ограничением {}.",
+                    booking.getItem().getId(), OVERLAP_CONSTRAINT);
+            throw new ConflictException("Вещь уже забронирована в указанный период.");
+        }
+    }
+
+    // конфликтом считается только нарушение ограничения на пересечение одобренных бронирований
+    private static boolean isOverlapViolation(DataIntegrityViolationException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException && EXCLUSION_VIOLATION.equals(((SQLException) cause).getSQLState())) {
+                return true;
+            }
+            if (cause.getMessage() != null && cause.getMessage().toLowerCase(Locale.ROOT).contains(OVERLAP_CONSTRAINT)) {
+                return true;
+            }
+        }
+        return false;
     }
 
     @Override
@@ -109,82 +221,36 @@ public class BookingServiceImpl implements BookingService {
     }
 
     @Override
-    public List<BookingDto> findAllByBooker(Long userId, String state, int fromPage, int size) {
+    public List<BookingDto> findAllByBooker(Long userId, String state, int fromPage, int size, Cursor cursor) {
         userService.checkIsUserExists(userId);
-        List<Booking> bookingsList = new ArrayList<>();
-        BookingState bookingState;
-        Pageable pageable = PageRequest.of(fromPage / size, size, Sort.by(Sort.Direction.DESC, "end"));
-        try {
-            bookingState = BookingState.valueOf(state);
-        } catch (IllegalArgumentException e) {
-            throw new StateException("Unknown state: UNSUPPORTED_STATUS"); // требование теста
-        }
-        switch (bookingState) {
-            case ALL:
-                bookingsList = repository.findAllByBookerId(userId, pageable);
-                break;
-            case PAST:
-                bookingsList = repository.findPastByBookerId(userId, LocalDateTime.now(), pageable);
-                break;
-            case FUTURE:
-                bookingsList = repository.findFutureByBookerId(userId, LocalDateTime.now(), pageable);
-                break;
-            case CURRENT:
-                bookingsList = repository.findCurrentByBookerId(userId, LocalDateTime.now(), pageable);
-                break;
-            case WAITING:
-                bookingsList = repository.findByBookerIdAndStatus(userId, BookingStatus.WAITING, pageable);
-                break;
-            case REJECTED:
-                bookingsList = repository.findByBookerIdAndStatus(userId, BookingStatus.REJECTED, pageable);
-                break;
-        }
+        Specification<Booking> specification = BookingSpecifications.byBooker(userId)
+                .and(BookingSpecifications.byState(parseState(state), LocalDateTime.now()))
+                .and(BookingSpecifications.after(cursor));
+        List<BookingDto> bookings = repository.findAllAsDto(specification, getPage(fromPage, size, cursor));
         log.info("Передан список забронированых вещей их арендатору {}.", userId);
-        return BookingMapper.toListDto(bookingsList);
+        return bookings;
     }
 
     @Override
-    public List<BookingDto> findAllByOwner(Long userId, String state, int fromPage, int size) {
+    public List<BookingDto> findAllByOwner(Long userId, String state, int fromPage, int size, Cursor cursor) {
         userService.checkIsUserExists(userId);
-        List<Booking> bookingsList = new ArrayList<>();
-        BookingState bookingState;
-        Pageable pageable = PageRequest.of(fromPage / size, size, Sort.by(Sort.Direction.DESC, "end"));
-        try {
-            bookingState = BookingState.valueOf(state);
-        } catch (IllegalArgumentException e) {
-            throw new StateException("Unknown state: UNSUPPORTED_STATUS"); // требование теста
-        }
-        switch (bookingState) {
-            case ALL:
-                bookingsList = repository.findAllByOwnerId(userId, pageable);
-                break;
-            case PAST:
-                bookingsList = repository.findPastByOwnerId(userId, LocalDateTime.now(), pageable);
-                break;
-            case FUTURE:
-                bookingsList = repository.findFutureByOwnerId(userId, LocalDateTime.now(), pageable);
-                break;
-            case CURRENT:
-                bookingsList = repository.findCurrentByOwnerId(userId, LocalDateTime.now(), pageable);
-                break;
-            case WAITING:
-                bookingsList = repository.findByOwnerIdAndStatus(userId, BookingStatus.WAITING, pageable);
-                break;
-            case REJECTED:
-                bookingsList = repository.findByOwnerIdAndStatus(userId, BookingStatus.REJECTED, pageable);
-                break;
-        }
+        Specification<Booking> specification = BookingSpecifications.byOwner(userId)
+                .and(BookingSpecifications.byState(parseState(state), LocalDateTime.now()))
+                .and(BookingSpecifications.after(cursor));
+        List<BookingDto> bookings = repository.findAllAsDto(specification, getPage(fromPage, size, cursor));
         log.info("Передан список забронированых вещей их собственнику {}.", userId);
-        return BookingMapper.toListDto(bookingsList);
+        return bookings;
     }
 
-    public Optional<Booking> findLastBooking(Long itemId) {
-        return repository.findLastBooking(itemId, LocalDateTime.now())
-                .stream().findFirst();
+    private static Pageable getPage(int fromPage, int size, Cursor cursor) {
+        return cursor == null ? PageRequest.of(fromPage / size, size, SORT) : PageRequest.of(0, size, SORT);
     }
 
-    public Optional<Booking> findNextBooking(Long itemId) {
-        return repository.findNextBooking(itemId, LocalDateTime.now())
-                .stream().findFirst();
+    private static BookingState parseState(String state) {
+        try {
+            return BookingState.valueOf(state);
+        } catch (IllegalArgumentException e) {
+            throw new StateException("Unknown state: UNSUPPORTED_STATUS"); // требование теста
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,59 @@
+package ru.practicum.shareit.booking;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.springframework.data.jpa.domain.Specification;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.pagination.Cursor;
+
+import java.time.LocalDateTime;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class BookingSpecifications {
+
+    public static Specification<Booking> byBooker(Long userId) {
+        return (root, query, builder) -> builder.equal(root.get("booker").get("id"), userId);
+    }
+
+    public static Specification<Booking> byOwner(Long userId) {
+        return (root, query, builder) -> builder.equal(root.get("item").get("owner").get("id"), userId);
+    }
+
+    public static Specification<Booking> byState(BookingState state, LocalDateTime now) {
+        switch (state) {
+            case PAST:
+                return (root, query, builder) -> builder.lessThan(root.get("end"), now);
+            case FUTURE:
+                return (root, query, builder) -> builder.greaterThan(root.get("start"), now);
+            case CURRENT:
+                return (root, query, builder) -> builder.and(
+                        builder.lessThanOrEqualTo(root.get("start"), now),
+                        builder.greaterThanOrEqualTo(root.get("end"), now));
+            case WAITING:
+                return byStatus(BookingStatus.WAITING);
+            case REJECTED:
+                return byStatus(BookingStatus.REJECTED);
+            default:
+                return (root, query, builder) -> builder.conjunction();
+        }
+    }
+
+    // (start, id) < (cursor.time, cursor.id) при сортировке по убыванию start, id
+    public static Specification<Booking> after(Cursor cursor) {
+        if (cursor == null) {
+            return null;
+        }
+        if (cursor.getTime() == null) {
+            throw new ValidationException("Курсор бронирований должен содержать дату начала.");
+        }
+        return (root, query, builder) -> builder.or(
+                builder.lessThan(root.get("start"), cursor.getTime()),
+                builder.and(
+                        builder.equal(root.get("start"), cursor.getTime()),
+                        builder.lessThan(root.get("id"), cursor.getId())));
+    }
+
+    private static Specification<Booking> byStatus(BookingStatus status) {
+        return (root, query, builder) -> builder.equal(root.get("status"), status);
+    }
+}
@@ -1,9 +1,19 @@
 package ru.practicum.shareit.comment;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface CommentRepository extends JpaRepository<Comment, Long> {
+    @EntityGraph("Comment.author")
     List<Comment> findAllCommentsByItemId(Long itemId);
+
+    @EntityGraph("Comment.author")
+    @Query("SELECT    c FROM Comment AS c " +
+            "WHERE    c.item.id IN ?1 " +
+            "ORDER BY c.created ")
+    List<Comment> findAllByItemIdIn(Collection<Long> itemIds);
 }
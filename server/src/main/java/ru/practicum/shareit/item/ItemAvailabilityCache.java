@@ -0,0 +1,141 @@
+package ru.practicum.shareit.item;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingShort;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Slf4j
+@Component
+public class ItemAvailabilityCache {
+    private final BookingRepository bookingRepository;
+    private final Map<Long, BusyIntervals> cache;
+    private final AtomicLong evictions = new AtomicLong();
+
+    public ItemAvailabilityCache(BookingRepository bookingRepository,
+                                 @Value("${shareit.availability.cache-size:1024}") int maxSize) {
+        this.bookingRepository = bookingRepository;
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, BusyIntervals> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    public List<FreeSlotDto> getFreeSlots(Long itemId, LocalDateTime from, LocalDateTime to) {
+        BusyIntervals busy = getBusyIntervals(itemId, from);
+        List<FreeSlotDto> slots = new ArrayList<>();
+        LocalDateTime slotStart = from;
+        int i = busy.firstEndingAfter(from);
+        while (i < busy.size() && busy.starts[i].isBefore(to)) {
+            if (busy.starts[i].isAfter(slotStart)) {
+                slots.add(new FreeSlotDto(slotStart, busy.starts[i]));
+            }
+            if (busy.ends[i].isAfter(slotStart)) {
+                slotStart = busy.ends[i];
+            }
+            i++;
+        }
+        if (slotStart.isBefore(to)) {
+            slots.add(new FreeSlotDto(slotStart, to));
+        }
+        return slots;
+    }
+
+    // до фиксации транзакции другие запросы читают прежние бронирования, поэтому запись удаляется после нее
+    public void evict(Long itemId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            remove(itemId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                remove(itemId);
+            }
+        });
+    }
+
+    private void remove(Long itemId) {
+        evictions.incrementAndGet();
+        synchronized (cache) {
+            cache.remove(itemId);
+        }
+    }
+
+    private BusyIntervals getBusyIntervals(Long itemId, LocalDateTime from) {
+        LocalDateTime now = LocalDateTime.now();
+        if (from.isBefore(now)) { // прошедшие периоды не кэшируются
+            return BusyIntervals.merge(bookingRepository.findBusyIntervals(itemId, from));
+        }
+        synchronized (cache) {
+            BusyIntervals busy = cache.get(itemId);
+            if (busy != null) {
+                return busy;
+            }
+        }
+        long stamp = evictions.get();
+        BusyIntervals busy = BusyIntervals.merge(bookingRepository.findBusyIntervals(itemId, now));
+        synchronized (cache) {
+            if (stamp == evictions.get()) { // не кэшировать, если за время запроса было изменение бронирований
+                cache.put(itemId, busy);
+            }
+        }
+        log.debug("Загружены периоды занятости вещи {}: {}.", itemId, busy.size());
+        return busy;
+    }
+
+    private static final class BusyIntervals {
+        private final LocalDateTime[] starts;
+        private final LocalDateTime[] ends;
+
+        private BusyIntervals(LocalDateTime[] starts, LocalDateTime[] ends) {
+            this.starts = starts;
+            this.ends = ends;
+        }
+
+        // бронирования упорядочены по началу, пересекающиеся и смежные периоды объединяются
+        static BusyIntervals merge(List<BookingShort> bookings) {
+            List<LocalDateTime> starts = new ArrayList<>(bookings.size());
+            List<LocalDateTime> ends = new ArrayList<>(bookings.size());
+            for (BookingShort booking : bookings) {
+                int last = ends.size() - 1;
+                if (last >= 0 && !booking.getStart().isAfter(ends.get(last))) {
+                    if (booking.getEnd().isAfter(ends.get(last))) {
+                        ends.set(last, booking.getEnd());
+                    }
+                } else {
+                    starts.add(booking.getStart());
+                    ends.add(booking.getEnd());
+                }
+            }
+            return new BusyIntervals(starts.toArray(new LocalDateTime[0]), ends.toArray(new LocalDateTime[0]));
+        }
+
+        int size() {
+            return starts.length;
+        }
+
+        int firstEndingAfter(LocalDateTime time) {
+            int low = 0;
+            int high = ends.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (ends[mid].isAfter(time)) {
+                    high = mid;
+                } else {
+                    low = mid + 1;
+                }
+            }
+            return low;
+        }
+    }
+}
@@ -1,16 +1,21 @@
 package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.comment.Comment;
 import ru.practicum.shareit.comment.CommentDto;
 import ru.practicum.shareit.comment.CommentMapper;
+import ru.practicum.shareit.pagination.Cursor;
 import ru.practicum.shareit.request.ItemRequestService;
 
 import javax.validation.Valid;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Validated
@@ -48,17 +53,25 @@ public class ItemController {
     }
 
     @GetMapping("/{itemId}") // искать конкретную вещь по идентификатору
-    public ItemDto getItemById(@RequestHeader("X-Sharer-User-Id") Long userId,
-                               @PathVariable("itemId") Long itemId) {
-        return service.getItemById(itemId, userId);
+    public ResponseEntity<ItemDto> getItemById(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                               @PathVariable("itemId") Long itemId) {
+        ItemDto itemDto = service.getItemById(itemId, userId);
+        if (itemDto.getOwner().getId().equals(userId)) { // последнее и следующее бронирования меняются со временем
+            return ResponseEntity.ok().cacheControl(CacheControl.noStore()).body(itemDto);
+        }
+        return ResponseEntity.ok(itemDto);
     }
 
     @GetMapping // получить список всех вещей владельца / пользователя
-    public List<ItemDto> getAllItemByOwner(@RequestParam(value = "from", defaultValue = "0", required = false)
-                                               @PositiveOrZero int fromPage,
-                                           @RequestParam(defaultValue = "10", required = false) @Positive int size,
-                                           @RequestHeader("X-Sharer-User-Id") Long userId) {
-        return service.getAllByOwnerId(fromPage, size, userId);
+    public ResponseEntity<List<ItemDto>> getAllItemByOwner(@RequestParam(value = "from", defaultValue = "0",
+                                                                         required = false)
+                                                               @PositiveOrZero int fromPage,
+                                                           @RequestParam(defaultValue = "10", required = false)
+                                                               @Positive int size,
+                                                           @RequestParam(required = false) String cursor,
+                                                           @RequestHeader("X-Sharer-User-Id") Long userId) {
+        List<ItemDto> items = service.getAllByOwnerId(fromPage, size, userId, Cursor.decode(cursor));
+        return Cursor.toResponse(items, size, item -> Cursor.of(item.getId()));
     }
 
     @GetMapping("/search") // найти вещи по тексту для потенциальных арендаторов
@@ -69,6 +82,16 @@ public class ItemController {
         return service.searchItems(fromPage, size, text);
     }
 
+    @GetMapping("/{itemId}/availability") // получить свободные для бронирования периоды вещи
+    public List<FreeSlotDto> getAvailability(@PathVariable Long itemId,
+                                             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                 LocalDateTime from,
+                                             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                 LocalDateTime to,
+                                             @RequestHeader("X-Sharer-User-Id") Long userId) {
+        return service.getAvailability(userId, itemId, from, to);
+    }
+
     @PostMapping("/{itemId}/comment") // добавить новый отзыв об использовании вещи
     public CommentDto saveComment(@Valid @RequestBody CommentDto commentDto,
                                   @RequestHeader(name = "X-Sharer-User-Id") Long userId,
@@ -0,0 +1,22 @@
+package ru.practicum.shareit.item;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@AllArgsConstructor
+public class ItemDetails {
+    private final Long id;
+    private final String name;
+    private final String description;
+    private final Boolean available;
+    private final Long ownerId;
+    private final String ownerName;
+    private final Long requestId;
+    private final Long commentId;
+    private final String commentText;
+    private final String commentAuthorName;
+    private final LocalDateTime commentCreated;
+}
@@ -1,14 +1,13 @@
 package ru.practicum.shareit.item;
 
 import lombok.*;
-import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingShort;
 import ru.practicum.shareit.comment.CommentDto;
 
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.Optional;
 
 @Data
 @Builder
@@ -50,24 +49,24 @@ public class ItemDto {
         this.comments = comments;
     }
 
-    public void setLastBooking(Optional<Booking> booking) {
-        if (booking.isPresent()) {
+    public void setLastBooking(BookingShort booking) {
+        if (booking != null) {
             this.lastBooking  = new BookingDto(
-                    booking.get().getId(),
-                    booking.get().getBooker().getId(),
-                    booking.get().getStart(),
-                    booking.get().getEnd()
+                    booking.getId(),
+                    booking.getBookerId(),
+                    booking.getStart(),
+                    booking.getEnd()
             );
         }
     }
 
-    public void setNextBooking(Optional<Booking> booking) {
-        if (booking.isPresent()) {
+    public void setNextBooking(BookingShort booking) {
+        if (booking != null) {
             this.nextBooking  = new BookingDto(
-                    booking.get().getId(),
-                    booking.get().getBooker().getId(),
-                    booking.get().getStart(),
-                    booking.get().getEnd()
+                    booking.getId(),
+                    booking.getBookerId(),
+                    booking.getStart(),
+                    booking.getEnd()
             );
         }
     }
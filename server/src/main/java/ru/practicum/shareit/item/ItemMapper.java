@@ -2,6 +2,10 @@ package ru.practicum.shareit.item;
 
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
+import ru.practicum.shareit.comment.CommentDto;
+
+import java.util.List;
+import java.util.stream.Collectors;
 
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
 public class ItemMapper {
@@ -17,6 +21,27 @@ public class ItemMapper {
                 .build();
     }
 
+    public static ItemDto toItemDto(List<ItemDetails> rows) {
+        ItemDetails item = rows.get(0);
+        return ItemDto.builder()
+                .id(item.getId())
+                .name(item.getName())
+                .description(item.getDescription())
+                .available(item.getAvailable())
+                .owner(new ItemDto.UserDto(item.getOwnerId(), item.getOwnerName()))
+                .requestId(item.getRequestId())
+                .comments(rows.stream()
+                        .filter(row -> row.getCommentId() != null)
+                        .map(row -> CommentDto.builder()
+                                .id(row.getCommentId())
+                                .text(row.getCommentText())
+                                .authorName(row.getCommentAuthorName())
+                                .created(row.getCommentCreated())
+                                .build())
+                        .collect(Collectors.toList()))
+                .build();
+    }
+
     public static Item toItem(ItemDto itemDto) {
         return Item.builder()
                 .id(itemDto.getId())
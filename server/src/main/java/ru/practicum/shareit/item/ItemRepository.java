@@ -1,22 +1,75 @@
 package ru.practicum.shareit.item;
 
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.QueryByExampleExecutor;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface ItemRepository extends JpaRepository<Item, Long>, QueryByExampleExecutor<Item> {
+    @Override
+    @EntityGraph("Item.owner")
+    Optional<Item> findById(Long itemId);
+
+    @Override
+    @EntityGraph("Item.owner")
+    List<Item> findAllById(Iterable<Long> itemIds);
+
+    @EntityGraph("Item.owner")
     List<Item> findAllByOwnerId(Long ownerId, Pageable pageable);
 
+    @EntityGraph("Item.owner")
+    List<Item> findAllByOwnerIdAndIdGreaterThan(Long ownerId, Long id, Pageable pageable);
+
+    @EntityGraph("Item.owner")
     List<Item> findByRequestId(Long requestId);
 
+    @Query("SELECT    i FROM Item AS i " +
+            "JOIN FETCH i.owner " +
+            "JOIN FETCH i.request AS r " +
+            "LEFT JOIN FETCH r.requester " +
+            "WHERE    r.id IN ?1 " +
+            "ORDER BY i.id ")
+    List<Item> findByRequestIdIn(Collection<Long> requestIds);
+
+    @EntityGraph("Item.owner")
     @Query("SELECT i FROM Item AS i " +
             "WHERE i.available = true AND " +
             "(upper(i.name) like upper(concat('%', ?1, '%')) " +
             " or upper(i.description) like upper(concat('%', ?1, '%')))")
     List<Item> searchItemsByTextInNameAndDescription(String text, Pageable pageable);
 
+    @Query(value = "SELECT   i.id FROM items AS i " +
+            "WHERE    i.is_available = true " +
+            "AND      (to_tsvector('simple', i.name || ' ' || i.description) @@ plainto_tsquery('simple', ?1) " +
+            "          OR i.name ILIKE '%' || ?1 || '%' " +
+            "          OR i.description ILIKE '%' || ?1 || '%') " +
+            "ORDER BY ts_rank(to_tsvector('simple', i.name || ' ' || i.description), " +
+            "                 plainto_tsquery('simple', ?1)) DESC, " +
+            "         GREATEST(similarity(i.name, ?1), similarity(i.description, ?1)) DESC, " +
+            "         i.id", nativeQuery = true)
+    List<Long> searchItemIdsByFullText(String text, Pageable pageable);
+
     Item findItemByRequestId(Long itemId);
+
+    @Query("SELECT i.id AS id, i.name AS name, i.description AS description " +
+            "FROM   Item AS i " +
+            "WHERE  i.available = true")
+    Stream<ItemShort> findAllAvailable();
+
+    @Query("SELECT new ru.practicum.shareit.item.ItemDetails(i.id, i.name, i.description, i.available, " +
+            "       o.id, o.name, r.id, c.id, c.text, a.name, c.created) " +
+            "FROM      Item AS i " +
+            "JOIN      i.owner AS o " +
+            "LEFT JOIN i.request AS r " +
+            "LEFT JOIN Comment AS c ON c.item = i " +
+            "LEFT JOIN c.author AS a " +
+            "WHERE     i.id = ?1 " +
+            "ORDER BY  c.created ")
+    List<ItemDetails> findItemDetailsById(Long itemId);
 }
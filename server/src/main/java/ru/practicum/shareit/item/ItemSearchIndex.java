@@ -0,0 +1,242 @@
+package ru.practicum.shareit.item;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ItemSearchIndex {
+    private static final int GRAM = 3;
+    private final ItemRepository repository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, IntList> postings = new HashMap<>();
+    private final Map<Long, Integer> documents = new HashMap<>();
+    private long[] itemIds = new long[16];
+    private String[] names = new String[16];
+    private String[] descriptions = new String[16];
+    private int count;
+    @Value("${shareit.search.mode:LIKE}")
+    private ItemSearchMode searchMode;
+
+    public boolean isEnabled() {
+        return searchMode == ItemSearchMode.INDEX;
+    }
+
+    @Transactional(readOnly = true)
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        if (!isEnabled()) {
+            return;
+        }
+        lock.writeLock().lock();
+        try (Stream<ItemShort> items = repository.findAllAvailable()) {
+            items.forEach(item -> add(item.getId(), item.getName(), item.getDescription()));
+            log.info("Построен поисковый индекс для {} вещей, триграмм: {}.", documents.size(), postings.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void index(Item item) {
+        if (!isEnabled()) {
+            return;
+        }
+        Long itemId = item.getId();
+        String name = item.getName();
+        String description = item.getDescription();
+        boolean available = Boolean.TRUE.equals(item.getAvailable());
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                documents.remove(itemId);
+                if (available) {
+                    add(itemId, name, description);
+                }
+                compactIfNeeded();
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    public void remove(Long itemId) {
+        if (!isEnabled()) {
+            return;
+        }
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                documents.remove(itemId);
+                compactIfNeeded();
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    // индекс меняется только после фиксации транзакции, при откате остается прежним
+    private static void afterCommit(Runnable update) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            update.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                update.run();
+            }
+        });
+    }
+
+    public List<Long> search(String text, int offset, int size) {
+        String query = normalize(text);
+        long[] found;
+        lock.readLock().lock();
+        try {
+            found = query.length() < GRAM ? scan(query) : lookup(query);
+        } finally {
+            lock.readLock().unlock();
+        }
+        Arrays.sort(found);
+        return Arrays.stream(found)
+                .skip(offset)
+                .limit(size)
+                .boxed()
+                .collect(Collectors.toList());
+    }
+
+    private long[] lookup(String query) {
+        List<IntList> lists = new ArrayList<>();
+        for (String gram : grams(query)) {
+            IntList list = postings.get(gram);
+            if (list == null) {
+                return new long[0];
+            }
+            lists.add(list);
+        }
+        lists.sort(Comparator.comparingInt(list -> list.size));
+        int[] candidates = Arrays.copyOf(lists.get(0).data, lists.get(0).size);
+        int length = candidates.length;
+        for (int i = 1; i < lists.size() && length > 0; i++) {
+            length = intersect(candidates, length, lists.get(i));
+        }
+        long[] result = new long[length]; // триграммы только отбирают кандидатов, подстрока проверяется как в LIKE
+        int found = 0;
+        for (int i = 0; i < length; i++) {
+            if (matches(candidates[i], query)) {
+                result[found++] = itemIds[candidates[i]];
+            }
+        }
+        return Arrays.copyOf(result, found);
+    }
+
+    private long[] scan(String query) {
+        long[] result = new long[count];
+        int found = 0;
+        for (int doc = 0; doc < count; doc++) {
+            if (matches(doc, query)) {
+                result[found++] = itemIds[doc];
+            }
+        }
+        return Arrays.copyOf(result, found);
+    }
+
+    private boolean matches(int doc, String query) {
+        Integer current = documents.get(itemIds[doc]);
+        return current != null && current == doc
+                && (names[doc].contains(query) || descriptions[doc].contains(query));
+    }
+
+    private static int intersect(int[] candidates, int length, IntList list) {
+        int found = 0;
+        int j = 0;
+        for (int i = 0; i < length && j < list.size; i++) {
+            while (j < list.size && list.data[j] < candidates[i]) {
+                j++;
+            }
+            if (j < list.size && list.data[j] == candidates[i]) {
+                candidates[found++] = candidates[i];
+            }
+        }
+        return found;
+    }
+
+    private void add(Long itemId, String name, String description) {
+        if (count == itemIds.length) {
+            int capacity = count * 2;
+            itemIds = Arrays.copyOf(itemIds, capacity);
+            names = Arrays.copyOf(names, capacity);
+            descriptions = Arrays.copyOf(descriptions, capacity);
+        }
+        int doc = count++;
+        itemIds[doc] = itemId;
+        names[doc] = normalize(name);
+        descriptions[doc] = normalize(description);
+        documents.put(itemId, doc);
+        Set<String> grams = grams(names[doc]);
+        grams.addAll(grams(descriptions[doc]));
+        grams.forEach(gram -> postings.computeIfAbsent(gram, key -> new IntList()).add(doc));
+    }
+
+    private void compactIfNeeded() {
+        if (count - documents.size() <= Math.max(documents.size(), 1024)) {
+            return;
+        }
+        long[] oldIds = itemIds;
+        String[] oldNames = names;
+        String[] oldDescriptions = descriptions;
+        Map<Long, Integer> live = new HashMap<>(documents);
+        int oldCount = count;
+        postings.clear();
+        documents.clear();
+        itemIds = new long[Math.max(live.size(), 16)];
+        names = new String[itemIds.length];
+        descriptions = new String[itemIds.length];
+        count = 0;
+        for (int doc = 0; doc < oldCount; doc++) {
+            Integer current = live.get(oldIds[doc]);
+            if (current != null && current == doc) {
+                add(oldIds[doc], oldNames[doc], oldDescriptions[doc]);
+            }
+        }
+        log.debug("Поисковый индекс сжат до {} вещей.", count);
+    }
+
+    private static Set<String> grams(String text) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM <= text.length(); i++) {
+            grams.add(text.substring(i, i + GRAM));
+        }
+        return grams;
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.toLowerCase(Locale.ROOT);
+    }
+
+    private static class IntList {
+        private int[] data = new int[4];
+        private int size;
+
+        private void add(int value) {
+            if (size == data.length) {
+                data = Arrays.copyOf(data, size * 2);
+            }
+            data[size++] = value;
+        }
+    }
+}
@@ -1,7 +1,10 @@
 package ru.practicum.shareit.item;
 
 import ru.practicum.shareit.comment.Comment;
+import ru.practicum.shareit.pagination.Cursor;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface ItemService {
@@ -14,12 +17,16 @@ public interface ItemService {
 
     Item findById(Long itemId);
 
+    List<Item> findAllById(Collection<Long> itemIds);
+
     ItemDto getItemById(Long itemId, Long userId);
 
-    List<ItemDto> getAllByOwnerId(int fromPage, int size, Long userId);
+    List<ItemDto> getAllByOwnerId(int fromPage, int size, Long userId, Cursor cursor);
 
     List<ItemDto> searchItems(int fromPage, int size, String text);
 
+    List<FreeSlotDto> getAvailability(Long userId, Long itemId, LocalDateTime from, LocalDateTime to);
+
     Comment saveComment(Long userId, Long itemId, Comment comment);
 
     List<Comment> getAllCommentsByItem(Long itemId);
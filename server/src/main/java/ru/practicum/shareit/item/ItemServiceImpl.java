@@ -2,6 +2,7 @@ package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
@@ -10,11 +11,14 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.validation.annotation.Validated;
 import ru.practicum.shareit.booking.Booking;
 import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingShort;
 import ru.practicum.shareit.comment.Comment;
+import ru.practicum.shareit.comment.CommentDto;
 import ru.practicum.shareit.comment.CommentMapper;
 import ru.practicum.shareit.comment.CommentRepository;
 import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.pagination.Cursor;
 import ru.practicum.shareit.user.UserService;
 
 import java.time.LocalDateTime;
@@ -31,12 +35,18 @@ public class ItemServiceImpl implements ItemService {
     private final CommentRepository commentRepository;
     private final UserService userService;
     private final BookingRepository bookingRepository;
+    private final ItemSearchIndex searchIndex;
+    private final ItemAvailabilityCache availabilityCache;
+    @Value("${shareit.search.mode:LIKE}")
+    private ItemSearchMode searchMode;
 
     @Override
     @Transactional
     public Item save(Long userId, Item item) {
         item.setOwner(userService.findById(userId));
-        return repository.save(item);
+        Item savedItem = repository.save(item);
+        searchIndex.index(savedItem);
+        return savedItem;
     }
 
     @Override
@@ -59,13 +69,16 @@ public class ItemServiceImpl implements ItemService {
             itemUpdate.setAvailable(item.getAvailable());
         }
         log.info("Обновлена информация о вещи № {}.", item.getId());
-        return repository.save(itemUpdate);
+        Item savedItem = repository.save(itemUpdate);
+        searchIndex.index(savedItem);
+        return savedItem;
     }
 
     @Override
     @Transactional
     public void deleteById(Long itemId) {
         repository.deleteById(itemId);
+        searchIndex.remove(itemId);
         log.info("Удалена вещь № {}.", itemId);
     }
 
@@ -76,28 +89,37 @@ public class ItemServiceImpl implements ItemService {
                         new NotFoundException("Не найдена вещь с идентификатором № " + itemId));
     }
 
+    @Override
+    public List<Item> findAllById(Collection<Long> itemIds) {
+        return repository.findAllById(itemIds);
+    }
+
     @Override
     public ItemDto getItemById(Long itemId, Long userId) {
-        Item item = findById(itemId);
-        ItemDto itemDto = ItemMapper.toItemDto(item);
-        getComments(itemDto);
+        List<ItemDetails> rows = repository.findItemDetailsById(itemId);
+        if (rows.isEmpty()) {
+            throw new NotFoundException("Не найдена вещь с идентификатором № " + itemId);
+        }
+        ItemDto itemDto = ItemMapper.toItemDto(rows);
         if (itemDto.getOwner().getId().equals(userId)) {
-            getLastAndNextBooking(itemDto);
-            log.info("Передана информация о вещи {} ее собственнику {}.", item, userId);
+            getLastAndNextBookings(List.of(itemDto));
+            log.info("Передана информация о вещи {} ее собственнику {}.", itemId, userId);
         }
         log.debug("Передана вещь {}.", itemDto);
         return itemDto;
     }
 
-    public List<ItemDto> getAllByOwnerId(int fromPage, int size, Long ownerId) {
+    public List<ItemDto> getAllByOwnerId(int fromPage, int size, Long ownerId, Cursor cursor) {
         userService.checkIsUserExists(ownerId);
-        Pageable pageable = PageRequest.of(fromPage / size, size, Sort.by(Sort.Direction.ASC, "id"));
-        List<ItemDto> itemList = repository.findAllByOwnerId(ownerId, pageable)
-                .stream()
+        Sort sortBy = Sort.by(Sort.Direction.ASC, "id");
+        List<Item> items = cursor == null
+                ? repository.findAllByOwnerId(ownerId, PageRequest.of(fromPage / size, size, sortBy))
+                : repository.findAllByOwnerIdAndIdGreaterThan(ownerId, cursor.getId(), PageRequest.of(0, size, sortBy));
+        List<ItemDto> itemList = items.stream()
                 .map(ItemMapper::toItemDto)
                 .collect(Collectors.toList());
-        itemList.forEach(this::getLastAndNextBooking);
-        itemList.forEach(this::getComments);
+        getLastAndNextBookings(itemList);
+        getComments(itemList);
         log.info("Передан список вещей {} их собственнику {}.", itemList, ownerId);
         return itemList;
     }
@@ -108,12 +130,46 @@ public class ItemServiceImpl implements ItemService {
             return Collections.emptyList();
         }
         Pageable pageable = PageRequest.of(fromPage / size, size);
-        return repository.searchItemsByTextInNameAndDescription(text, pageable)
-                .stream()
+        List<Item> items;
+        switch (searchMode) {
+            case FULL_TEXT:
+                items = findAllByIdsOrdered(repository.searchItemIdsByFullText(text, pageable));
+                break;
+            case INDEX:
+                items = findAllByIdsOrdered(searchIndex.search(text, (int) pageable.getOffset(), size));
+                break;
+            case LIKE:
+            default:
+                items = repository.searchItemsByTextInNameAndDescription(text, pageable);
+        }
+        return items.stream()
                 .map(ItemMapper::toItemDto)
                 .collect(Collectors.toList());
     }
 
+    private List<Item> findAllByIdsOrdered(List<Long> ids) {
+        Map<Long, Item> items = repository.findAllById(ids)
+                .stream()
+                .collect(Collectors.toMap(Item::getId, item -> item));
+        return ids.stream()
+                .map(items::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<FreeSlotDto> getAvailability(Long userId, Long itemId, LocalDateTime from, LocalDateTime to) {
+        if (!to.isAfter(from)) {
+            throw new ValidationException("Окончание периода должно быть позже его начала.");
+        }
+        userService.checkIsUserExists(userId);
+        if (!repository.existsById(itemId)) {
+            throw new NotFoundException("Не найдена вещь с идентификатором № " + itemId);
+        }
+        log.info("Передано расписание доступности вещи № {}.", itemId);
+        return availabilityCache.getFreeSlots(itemId, from, to);
+    }
+
     @Override
     @Transactional
     public Comment saveComment(Long userId, Long itemId, Comment comment) {
@@ -135,29 +191,43 @@ public class ItemServiceImpl implements ItemService {
         return commentRepository.findAllCommentsByItemId(itemId);
     }
 
-    @Transactional
-    void getComments(ItemDto itemDto) {
-        itemDto.setComments(getAllCommentsByItem(itemDto.getId()).stream()
-                .map(CommentMapper::toCommentDto)
-                .collect(Collectors.toList()));
-        log.info("Сохранен список комментариев: {} о бронировании вещи № {}.",
-                itemDto.getComments(), itemDto.getId());
+    void getComments(List<ItemDto> items) {
+        if (items.isEmpty()) {
+            return;
+        }
+        Map<Long, List<CommentDto>> comments = commentRepository.findAllByItemIdIn(getIds(items))
+                .stream()
+                .collect(Collectors.groupingBy(comment -> comment.getItem().getId(),
+                        Collectors.mapping(CommentMapper::toCommentDto, Collectors.toList())));
+        items.forEach(itemDto -> itemDto.setComments(comments.getOrDefault(itemDto.getId(), new ArrayList<>())));
+        log.info("Получены списки комментариев о бронировании {} вещей.", items.size());
     }
 
-    @Transactional
-    void getLastAndNextBooking(ItemDto itemDto) {
-        if (!bookingRepository.findLastBooking(itemDto.getId(), LocalDateTime.now()).isEmpty()) {
-            itemDto.setLastBooking(bookingRepository.findLastBooking(itemDto.getId(), LocalDateTime.now())
-                    .stream().findFirst());
-            log.info("Получено и сохранено время последнего бронирования для вещи № {} время: {}.",
-                    itemDto.getId(), itemDto.getLastBooking());
-        }
-        if (!bookingRepository.findNextBooking(itemDto.getId(), LocalDateTime.now()).isEmpty()) {
-            itemDto.setNextBooking(bookingRepository.findNextBooking(itemDto.getId(), LocalDateTime.now())
-                    .stream().findFirst());
-            log.info("Получено и сохранено время следующего бронирования для вещи № {} время: {}.",
-                    itemDto.getId(), itemDto.getLastBooking());
+    void getLastAndNextBookings(List<ItemDto> items) {
+        if (items.isEmpty()) {
+            return;
         }
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, BookingShort> lastBookings = new HashMap<>();
+        Map<Long, BookingShort> nextBookings = new HashMap<>();
+        bookingRepository.findLastAndNextBookings(getIds(items), now).forEach(booking -> {
+            if (booking.getEnd().isBefore(now)) {
+                lastBookings.put(booking.getItemId(), booking);
+            } else {
+                nextBookings.put(booking.getItemId(), booking);
+            }
+        });
+        items.forEach(itemDto -> {
+            itemDto.setLastBooking(lastBookings.get(itemDto.getId()));
+            itemDto.setNextBooking(nextBookings.get(itemDto.getId()));
+        });
+        log.info("Получено время последнего и следующего бронирования для {} вещей.", items.size());
+    }
+
+    private static List<Long> getIds(List<ItemDto> items) {
+        return items.stream()
+                .map(ItemDto::getId)
+                .collect(Collectors.toList());
     }
 
     @Override
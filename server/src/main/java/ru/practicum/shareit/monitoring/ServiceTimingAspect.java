@@ -0,0 +1,53 @@
+package ru.practicum.shareit.monitoring;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.exception.ConflictException;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.exception.StateException;
+import ru.practicum.shareit.exception.ValidationException;
+
+import java.util.List;
+
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class ServiceTimingAspect {
+    private static final String METRIC_NAME = "shareit.service";
+    // те же значения outcome, что и в шлюзе: success, client_error, server_error, cancelled
+    private static final List<Class<? extends Throwable>> CLIENT_ERRORS = List.of(NotFoundException.class,
+            ValidationException.class, StateException.class, ConflictException.class,
+            OptimisticLockingFailureException.class); // ErrorHandler отвечает на них кодами 4xx
+    private final MeterRegistry registry;
+
+    // перцентили и гистограмма задаются свойствами management.metrics.distribution.*
+    @Around("within(@org.springframework.stereotype.Service ru.practicum.shareit..*) && execution(public * *(..))")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        Timer.Sample sample = Timer.start(registry);
+        String outcome = "success";
+        String exception = "none";
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            outcome = isClientError(e) ? "client_error" : "server_error";
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            sample.stop(registry.timer(METRIC_NAME,
+                    "class", joinPoint.getSignature().getDeclaringType().getSimpleName(),
+                    "method", joinPoint.getSignature().getName(),
+                    "outcome", outcome,
+                    "exception", exception));
+        }
+    }
+
+    private static boolean isClientError(Throwable e) {
+        return CLIENT_ERRORS.stream().anyMatch(type -> type.isInstance(e));
+    }
+}
@@ -0,0 +1,71 @@
+package ru.practicum.shareit.monitoring;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SqlMetricsInterceptor implements AsyncHandlerInterceptor {
+    private final MeterRegistry registry;
+    private final SqlMonitoringProperties properties;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        String uri = getUri(request);
+        Integer budget = properties.getBudgets()
+                .getOrDefault(HttpMethod.resolve(request.getMethod()), Map.of())
+                .get(uri);
+        SqlStatistics.start(request.getMethod() + " " + uri, budget, properties.isFailOnBudgetExceeded());
+        return true;
+    }
+
+    @Override // асинхронная часть запроса выполняется в другом потоке и не учитывается
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+                                               Object handler) {
+        SqlStatistics.finish();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        SqlStatistics statistics = SqlStatistics.finish();
+        if (statistics == null) {
+            return;
+        }
+        Tags tags = Tags.of("method", request.getMethod(), "uri", getUri(request));
+        DistributionSummary.builder("shareit.sql.statements")
+                .description("Число обращений к базе данных за HTTP-запрос")
+                .tags(tags)
+                .register(registry)
+                .record(statistics.getStatements());
+        DistributionSummary.builder("shareit.sql.rows")
+                .description("Число строк, прочитанных из базы данных за HTTP-запрос")
+                .tags(tags)
+                .register(registry)
+                .record(statistics.getRows());
+        registry.timer("shareit.sql.time", tags).record(statistics.getTimeNanos(), TimeUnit.NANOSECONDS);
+        if (statistics.isBudgetExceeded()) {
+            registry.counter("shareit.sql.budget.exceeded", tags).increment();
+            log.warn("Превышен лимит запросов к базе данных для {} ({}), выполнено запросов: {}.",
+                    statistics.getEndpoint(), statistics.getBudget(), statistics.getStatements());
+        }
+    }
+
+    private static String getUri(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : "UNKNOWN";
+    }
+}
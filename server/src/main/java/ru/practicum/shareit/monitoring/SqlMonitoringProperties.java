@@ -0,0 +1,16 @@
+package ru.practicum.shareit.monitoring;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.http.HttpMethod;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties(prefix = "shareit.monitoring.sql")
+public class SqlMonitoringProperties {
+    private boolean failOnBudgetExceeded = false;
+    // метод -> шаблон пути -> допустимое число запросов, например budgets.get.[/items]=3
+    private Map<HttpMethod, Map<String, Integer>> budgets = new HashMap<>();
+}
@@ -0,0 +1,57 @@
+package ru.practicum.shareit.monitoring;
+
+import lombok.Getter;
+import ru.practicum.shareit.exception.QueryBudgetExceededException;
+
+@Getter
+public class SqlStatistics {
+    private static final ThreadLocal<SqlStatistics> CURRENT = new ThreadLocal<>();
+    private final String endpoint;
+    private final Integer budget; // null - число запросов не ограничено
+    private final boolean failOnBudgetExceeded;
+    private int statements;
+    private long timeNanos;
+    private long rows;
+    private long statementStart;
+    private boolean budgetExceeded;
+
+    private SqlStatistics(String endpoint, Integer budget, boolean failOnBudgetExceeded) {
+        this.endpoint = endpoint;
+        this.budget = budget;
+        this.failOnBudgetExceeded = failOnBudgetExceeded;
+    }
+
+    static void start(String endpoint, Integer budget, boolean failOnBudgetExceeded) {
+        CURRENT.set(new SqlStatistics(endpoint, budget, failOnBudgetExceeded));
+    }
+
+    static SqlStatistics current() {
+        return CURRENT.get();
+    }
+
+    static SqlStatistics finish() {
+        SqlStatistics statistics = CURRENT.get();
+        CURRENT.remove();
+        return statistics;
+    }
+
+    void beforeStatement() {
+        if (budget != null && statements >= budget) {
+            budgetExceeded = true;
+            if (failOnBudgetExceeded) {
+                throw new QueryBudgetExceededException("Превышен лимит запросов к базе данных для " + endpoint +
+                        ": " + budget);
+            }
+        }
+        statementStart = System.nanoTime();
+    }
+
+    void afterStatement() {
+        statements++;
+        timeNanos += System.nanoTime() - statementStart;
+    }
+
+    void addRow() {
+        rows++;
+    }
+}
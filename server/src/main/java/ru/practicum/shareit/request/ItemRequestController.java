@@ -1,8 +1,10 @@
 package ru.practicum.shareit.request;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.pagination.Cursor;
 
 import javax.validation.Valid;
 import javax.validation.constraints.Positive;
@@ -35,12 +37,15 @@ public class ItemRequestController {
     }
 
     @GetMapping("/all") // получить список запросов, созданных другими пользователями
-    public List<ItemRequestDto> getAll(@RequestParam(defaultValue = "0", value = "from", required = false)
-                                           @PositiveOrZero int fromPage,
-                                       @RequestParam(defaultValue = "10", required = false)
-                                       @Positive int size,
-                                       @RequestHeader("X-Sharer-User-Id") Long userId) {
-        return service.findAll(fromPage, size, userId);
+    public ResponseEntity<List<ItemRequestDto>> getAll(@RequestParam(defaultValue = "0", value = "from",
+                                                                     required = false)
+                                                           @PositiveOrZero int fromPage,
+                                                       @RequestParam(defaultValue = "10", required = false)
+                                                       @Positive int size,
+                                                       @RequestParam(required = false) String cursor,
+                                                       @RequestHeader("X-Sharer-User-Id") Long userId) {
+        List<ItemRequestDto> requests = service.findAll(fromPage, size, userId, Cursor.decode(cursor));
+        return Cursor.toResponse(requests, size, request -> Cursor.of(request.getCreated(), request.getId()));
     }
 
     @DeleteMapping("/{requestId}") // удалить запрос вещи
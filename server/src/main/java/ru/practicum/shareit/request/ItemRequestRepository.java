@@ -4,11 +4,24 @@ import org.springframework.data.jpa.repository.JpaRepository;
 
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long> {
 
+    @EntityGraph(attributePaths = "requester")
     List<ItemRequest> findByRequesterId(long requesterId, Sort sortBy);
 
+    @EntityGraph(attributePaths = "requester")
     List<ItemRequest> findByRequesterIdNot(long requesterId, Pageable pageable);
+
+    @EntityGraph(attributePaths = "requester")
+    @Query("SELECT    r FROM ItemRequest AS r " +
+            "WHERE    r.requester.id <> ?1 " +
+            "AND      (r.created < ?2 OR (r.created = ?2 AND r.id < ?3)) " +
+            "ORDER BY r.created DESC, r.id DESC ")
+    List<ItemRequest> findByRequesterIdNotAfter(long requesterId, LocalDateTime created, Long id, Pageable pageable);
 }
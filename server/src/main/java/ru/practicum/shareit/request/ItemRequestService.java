@@ -1,5 +1,7 @@
 package ru.practicum.shareit.request;
 
+import ru.practicum.shareit.pagination.Cursor;
+
 import java.util.List;
 
 public interface ItemRequestService {
@@ -12,7 +14,7 @@ public interface ItemRequestService {
 
     List<ItemRequestDto> getAllByUserId(Long userId);
 
-    List<ItemRequestDto> findAll(int fromPage, int size, Long userId);
+    List<ItemRequestDto> findAll(int fromPage, int size, Long userId, Cursor cursor);
 
     void deleteById(Long itemRequestId);
 }
\ No newline at end of file
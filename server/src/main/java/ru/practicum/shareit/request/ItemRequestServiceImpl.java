@@ -7,11 +7,16 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.validation.annotation.Validated;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.ItemDto;
 import ru.practicum.shareit.item.ItemMapper;
 import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.pagination.Cursor;
 import ru.practicum.shareit.user.UserService;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -51,21 +56,40 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     public List<ItemRequestDto> getAllByUserId(Long userId) {
         userService.checkIsUserExists(userId);
         Sort sortBy = Sort.by(Sort.Direction.DESC, "created");
-        List<ItemRequestDto> requests = repository.findByRequesterId(userId, sortBy)
-                .stream().map(ItemRequestsMapper::toItemRequestDto).collect(Collectors.toList());
-        requests.forEach(request -> request.setItems(itemRepository.findByRequestId(request.getId())
-                .stream().map(ItemMapper::toItemDto).collect(Collectors.toList())));
-        return requests;
+        return toDtoWithItems(repository.findByRequesterId(userId, sortBy));
     }
 
     @Override
-    public List<ItemRequestDto> findAll(int fromPage, int size, Long userId) {
+    public List<ItemRequestDto> findAll(int fromPage, int size, Long userId, Cursor cursor) {
         userService.checkIsUserExists(userId);
-        List<ItemRequestDto> requests = repository.findByRequesterIdNot(userId,
-                PageRequest.of(fromPage, size, Sort.by(Sort.Direction.DESC, "created")))
-                .stream().map(ItemRequestsMapper::toItemRequestDto).collect(Collectors.toList());
-        requests.forEach(request -> request.setItems(itemRepository.findByRequestId(request.getId())
-                .stream().map(ItemMapper::toItemDto).collect(Collectors.toList())));
+        List<ItemRequest> page;
+        if (cursor == null) {
+            page = repository.findByRequesterIdNot(userId,
+                    PageRequest.of(fromPage / size, size, Sort.by(Sort.Direction.DESC, "created", "id")));
+        } else if (cursor.getTime() == null) {
+            throw new ValidationException("Курсор запросов должен содержать дату создания.");
+        } else {
+            page = repository.findByRequesterIdNotAfter(userId, cursor.getTime(), cursor.getId(),
+                    PageRequest.of(0, size));
+        }
+        return toDtoWithItems(page);
+    }
+
+    // ответы на все запросы страницы загружаются одним запросом и группируются по запросу
+    private List<ItemRequestDto> toDtoWithItems(List<ItemRequest> itemRequests) {
+        List<ItemRequestDto> requests = itemRequests.stream()
+                .map(ItemRequestsMapper::toItemRequestDto)
+                .collect(Collectors.toList());
+        if (requests.isEmpty()) {
+            return requests;
+        }
+        Map<Long, List<ItemDto>> items = itemRepository.findByRequestIdIn(requests.stream()
+                        .map(ItemRequestDto::getId)
+                        .collect(Collectors.toList()))
+                .stream()
+                .collect(Collectors.groupingBy(item -> item.getRequest().getId(),
+                        Collectors.mapping(ItemMapper::toItemDto, Collectors.toList())));
+        requests.forEach(request -> request.setItems(items.getOrDefault(request.getId(), new ArrayList<>())));
         return requests;
     }
 
@@ -1,10 +1,20 @@
 package ru.practicum.shareit.user;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.practicum.shareit.pagination.Cursor;
 
 import javax.validation.Valid;
+import javax.validation.constraints.Positive;
+import javax.validation.constraints.PositiveOrZero;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -14,6 +24,7 @@ import java.util.stream.Collectors;
 @RequestMapping(path = "/users")
 public class UserController {
     private final UserService service;
+    private final ObjectMapper objectMapper;
 
     @PostMapping // добавить новых пользователей
     public UserDto create(@Valid @RequestBody UserDto userDto) {
@@ -39,11 +50,28 @@ public class UserController {
         return UserMapper.toUserDto(service.findById(userId));
     }
 
-    @GetMapping // получить список всех пользователей
-    public List<UserDto> findAll() {
-        return service.findAll()
+    @GetMapping // получить список пользователей постранично, полная выгрузка - GET /users/stream
+    public ResponseEntity<List<UserDto>> findAll(@RequestParam(value = "from", defaultValue = "0")
+                                                     @PositiveOrZero int fromPage,
+                                                 @RequestParam(defaultValue = "100") @Positive int size,
+                                                 @RequestParam(required = false) String cursor) {
+        List<UserDto> users = service.findAll(fromPage, size, Cursor.decode(cursor))
                 .stream()
                 .map(UserMapper::toUserDto)
                 .collect(Collectors.toList());
+        return Cursor.toResponse(users, size, user -> Cursor.of(user.getId()));
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE) // выгрузить всех пользователей
+    public StreamingResponseBody streamAll() {
+        ObjectWriter writer = objectMapper.writerFor(UserDto.class);
+        return output -> service.streamAll(user -> {
+            try { // по одному объекту JSON в строке, ответ не собирается в памяти целиком
+                output.write(writer.writeValueAsBytes(UserMapper.toUserDto(user)));
+                output.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
     }
 }
\ No newline at end of file
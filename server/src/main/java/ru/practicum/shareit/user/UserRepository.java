@@ -1,6 +1,33 @@
 package ru.practicum.shareit.user;
 
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import javax.persistence.QueryHint;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_CACHE_MODE;
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
 
 public interface UserRepository extends JpaRepository<User, Long> {
+    String EXISTS_CACHE = "userExists";
+
+    @Override // кэшируются только найденные пользователи, запись сбрасывается при удалении
+    @Cacheable(cacheNames = EXISTS_CACHE, unless = "!#result")
+    boolean existsById(Long id);
+
+    List<User> findAllBy(Pageable pageable);
+
+    List<User> findAllByIdGreaterThan(Long id, Pageable pageable);
+
+    @QueryHints({ // строки читаются из курсора порциями, минуя кэш
+            @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HINT_READONLY, value = "true"),
+            @QueryHint(name = HINT_CACHE_MODE, value = "IGNORE")
+    })
+    Stream<User> streamAllByOrderById();
 }
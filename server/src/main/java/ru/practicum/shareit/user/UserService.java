@@ -1,6 +1,9 @@
 package ru.practicum.shareit.user;
 
+import ru.practicum.shareit.pagination.Cursor;
+
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface UserService {
 
@@ -12,7 +15,9 @@ public interface UserService {
 
     User findById(Long userId);
 
-    List<User> findAll();
+    List<User> findAll(int fromPage, int size, Cursor cursor);
+
+    void streamAll(Consumer<User> action);
 
     void checkIsUserExists(Long userId);
 }
@@ -1,20 +1,28 @@
 package ru.practicum.shareit.user;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.stereotype.Service;
 import ru.practicum.shareit.exception.ConflictException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.pagination.Cursor;
 
+import javax.persistence.EntityManager;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
 public class UserServiceImpl implements UserService {
     private final UserRepository repository;
+    private final EntityManager entityManager;
 
     @Override
     @Transactional
@@ -44,6 +52,7 @@ public class UserServiceImpl implements UserService {
 
     @Override
     @Transactional
+    @CacheEvict(cacheNames = UserRepository.EXISTS_CACHE, key = "#userId")
     public void deleteById(Long userId) {
         repository.deleteById(userId);
     }
@@ -55,8 +64,21 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
-    public List<User> findAll() {
-        return repository.findAll();
+    public List<User> findAll(int fromPage, int size, Cursor cursor) {
+        Sort sortBy = Sort.by("id");
+        return cursor == null
+                ? repository.findAllBy(PageRequest.of(fromPage / size, size, sortBy))
+                : repository.findAllByIdGreaterThan(cursor.getId(), PageRequest.of(0, size, sortBy));
+    }
+
+    @Override
+    public void streamAll(Consumer<User> action) {
+        try (Stream<User> users = repository.streamAllByOrderById()) {
+            users.forEach(user -> {
+                action.accept(user);
+                entityManager.detach(user); // контекст не накапливает прочитанных пользователей
+            });
+        }
     }
 
     @Override
@@ -1,5 +1,11 @@
+CREATE SEQUENCE IF NOT EXISTS users_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS item_requests_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS items_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS bookings_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS comments_seq START WITH 1 INCREMENT BY 50;
+
 CREATE TABLE IF NOT EXISTS users (
-    id BIGINT GENERATED BY DEFAULT AS IDENTITY      NOT NULL,
+    id BIGINT                                       NOT NULL,
     name VARCHAR(255)                               NOT NULL,
     email VARCHAR(512)                              NOT NULL,
     CONSTRAINT pk_user PRIMARY KEY (id),
@@ -7,7 +13,7 @@ CREATE TABLE IF NOT EXISTS users (
 );
 
 CREATE TABLE IF NOT EXISTS item_requests (
-    id BIGINT GENERATED BY DEFAULT AS IDENTITY      NOT NULL,
+    id BIGINT                                       NOT NULL,
     description VARCHAR(512)                        NOT NULL,
     requester_id BIGINT                                     ,
     created TIMESTAMP WITHOUT TIME ZONE             NOT NULL,
@@ -16,12 +22,13 @@ CREATE TABLE IF NOT EXISTS item_requests (
 );
 
 CREATE TABLE IF NOT EXISTS items (
-    id BIGINT GENERATED BY DEFAULT AS IDENTITY      NOT NULL,
+    id BIGINT                                       NOT NULL,
     name VARCHAR(255)                               NOT NULL,
     description VARCHAR(512)                        NOT NULL,
     is_available BOOLEAN                            NOT NULL,
     owner_id BIGINT                                 NOT NULL,
     request_id BIGINT                                       ,
+    version BIGINT DEFAULT 0                        NOT NULL,
     CONSTRAINT PK_ITEMS PRIMARY KEY (id),
     CONSTRAINT FK_ITEM_ON_OWNER FOREIGN KEY (owner_id) REFERENCES users (id),
     CONSTRAINT FK_ITEM_ON_REQUEST FOREIGN KEY (request_id) REFERENCES item_requests (id),
@@ -29,19 +36,20 @@ CREATE TABLE IF NOT EXISTS items (
 );
 
 CREATE TABLE IF NOT EXISTS bookings (
-    id BIGINT GENERATED BY DEFAULT AS IDENTITY      NOT NULL,
+    id BIGINT                                       NOT NULL,
     start_date TIMESTAMP WITHOUT TIME ZONE          NOT NULL,
     end_date TIMESTAMP WITHOUT TIME ZONE            NOT NULL,
     item_id BIGINT                                          ,
     booker_id BIGINT                                        ,
     status VARCHAR(8)                               NOT NULL,
+    version BIGINT DEFAULT 0                        NOT NULL,
     CONSTRAINT pk_bookings PRIMARY KEY (id),
     CONSTRAINT FK_BOOKING_ON_BOOKER FOREIGN KEY (booker_id) REFERENCES users (id),
     CONSTRAINT FK_BOOKING_ON_ITEM FOREIGN KEY (item_id) REFERENCES items (id)
 );
 
 CREATE TABLE IF NOT EXISTS comments (
-    id BIGINT GENERATED BY DEFAULT AS IDENTITY      NOT NULL,
+    id BIGINT                                       NOT NULL,
     text VARCHAR(512)                               NOT NULL,
     item_id BIGINT                                          ,
     author_id BIGINT                                        ,
@@ -49,4 +57,4 @@ CREATE TABLE IF NOT EXISTS comments (
     CONSTRAINT pk_comments PRIMARY KEY (id),
     CONSTRAINT FK_COMMENTS_ON_AUTHOR FOREIGN KEY (author_id) REFERENCES users (id),
     CONSTRAINT FK_COMMENTS_ON_ITEM FOREIGN KEY (item_id) REFERENCES items (id)
-);
\ No newline at end of file
+);
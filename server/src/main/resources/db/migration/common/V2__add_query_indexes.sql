@@ -0,0 +1,8 @@
+CREATE INDEX IF NOT EXISTS IX_BOOKINGS_BOOKER_START ON bookings (booker_id, start_date);
+CREATE INDEX IF NOT EXISTS IX_BOOKINGS_ITEM_START ON bookings (item_id, start_date);
+CREATE INDEX IF NOT EXISTS IX_BOOKINGS_STATUS ON bookings (status);
+CREATE INDEX IF NOT EXISTS IX_ITEMS_OWNER_ID ON items (owner_id, id);
+CREATE INDEX IF NOT EXISTS IX_ITEM_REQUESTS_CREATED ON item_requests (created, id);
+CREATE INDEX IF NOT EXISTS IX_ITEMS_REQUEST_ID ON items (request_id);
+CREATE INDEX IF NOT EXISTS IX_COMMENTS_ITEM_ID ON comments (item_id);
+CREATE INDEX IF NOT EXISTS IX_ITEM_REQUESTS_REQUESTER_CREATED ON item_requests (requester_id, created);
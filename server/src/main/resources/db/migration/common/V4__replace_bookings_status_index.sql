@@ -0,0 +1,3 @@
+-- у статуса всего четыре значения, отдельный индекс по нему планировщик не использует
+DROP INDEX IF EXISTS IX_BOOKINGS_STATUS;
+CREATE INDEX IF NOT EXISTS IX_BOOKINGS_ITEM_STATUS_START ON bookings (item_id, status, start_date);
@@ -0,0 +1,3 @@
+-- базы, созданные прежним schema.sql, принимаются за версию 0: в V1 таблицы уже существуют и не пересоздаются
+ALTER TABLE items ADD COLUMN IF NOT EXISTS version BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE bookings ADD COLUMN IF NOT EXISTS version BIGINT DEFAULT 0 NOT NULL;
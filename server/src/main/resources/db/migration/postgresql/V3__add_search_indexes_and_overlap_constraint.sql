@@ -0,0 +1,29 @@
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS IX_ITEMS_SEARCH_VECTOR ON items
+    USING GIN (to_tsvector('simple', name || ' ' || description)) WHERE is_available = true;
+
+CREATE INDEX IF NOT EXISTS IX_ITEMS_NAME_TRGM ON items
+    USING GIN (name gin_trgm_ops) WHERE is_available = true;
+
+CREATE INDEX IF NOT EXISTS IX_ITEMS_DESCRIPTION_TRGM ON items
+    USING GIN (description gin_trgm_ops) WHERE is_available = true;
+
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+DO '
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = ''ex_bookings_approved_overlap'') THEN
+        ALTER TABLE bookings ADD CONSTRAINT EX_BOOKINGS_APPROVED_OVERLAP
+            EXCLUDE USING GIST (item_id WITH =, tsrange(start_date, end_date) WITH &&)
+            WHERE (status = ''APPROVED'');
+    END IF;
+END';
+
+
+-- идентификаторы раньше выдавались столбцами IDENTITY: последовательности сдвигаются за уже занятые значения
+SELECT setval('users_seq', m) FROM (SELECT MAX(id) AS m FROM users) t WHERE m >= (SELECT last_value FROM users_seq);
+SELECT setval('item_requests_seq', m) FROM (SELECT MAX(id) AS m FROM item_requests) t WHERE m >= (SELECT last_value FROM item_requests_seq);
+SELECT setval('items_seq', m) FROM (SELECT MAX(id) AS m FROM items) t WHERE m >= (SELECT last_value FROM items_seq);
+SELECT setval('bookings_seq', m) FROM (SELECT MAX(id) AS m FROM bookings) t WHERE m >= (SELECT last_value FROM bookings_seq);
+SELECT setval('comments_seq', m) FROM (SELECT MAX(id) AS m FROM comments) t WHERE m >= (SELECT last_value FROM comments_seq);
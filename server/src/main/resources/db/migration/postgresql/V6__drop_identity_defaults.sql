@@ -0,0 +1,7 @@
+-- идентификаторы выдаются последовательностями *_seq (pooled, шаг 50), IDENTITY из прежнего schema.sql снимается:
+-- значение по умолчанию из последовательности пересекалось бы с диапазонами, которые резервирует Hibernate
+ALTER TABLE users ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE item_requests ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE items ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE bookings ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE comments ALTER COLUMN id DROP IDENTITY IF EXISTS;
@@ -0,0 +1,179 @@
+package ru.practicum.shareit;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingSpecifications;
+import ru.practicum.shareit.booking.BookingState;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.pagination.Cursor;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// планы запросов BookingRepository и ItemRepository на заполненной базе PostgreSQL;
+// запуск: mvn test -Dtest=QueryPlanTest -Dshareit.test.postgres.url=jdbc:postgresql://localhost:5432/shareit_test
+// (база очищается перед заполнением)
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.cache.use_second_level_cache=false") // каждый вызов должен дойти до базы
+@ActiveProfiles({"test", "postgres"})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@EnabledIfSystemProperty(named = "shareit.test.postgres.url", matches = ".+")
+class QueryPlanTest {
+    private static final int USERS = 20_000;
+    private static final int REQUESTS = 20_000;
+    private static final int ITEMS = 50_000;
+    private static final int BOOKINGS = 200_000;
+    private static final int COMMENTS = 50_000;
+    private static final long USER_ID = 1234;
+    private static final long ITEM_ID = 5678;
+
+    @Autowired
+    private DataSource dataSource;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    private final List<QueryInfo> captured = new ArrayList<>();
+    private boolean capturing;
+
+    @BeforeAll
+    void seed() {
+        jdbcTemplate.execute("TRUNCATE comments, bookings, items, item_requests, users");
+        jdbcTemplate.update("INSERT INTO users (id, name, email) " +
+                "SELECT g, 'user ' || g, 'user' || g || '@mail.ru' FROM generate_series(1, ?) AS g", USERS);
+        jdbcTemplate.update("INSERT INTO item_requests (id, description, requester_id, created) " +
+                "SELECT g, 'request ' || g, 1 + g % ?, now() - g * interval '1 minute' " +
+                "FROM generate_series(1, ?) AS g", USERS, REQUESTS);
+        jdbcTemplate.update("INSERT INTO items (id, name, description, is_available, owner_id, request_id) " +
+                "SELECT g, 'item ' || g, 'description ' || g, g % 10 <> 0, 1 + g % ?, " +
+                "       CASE WHEN g % 3 = 0 THEN 1 + g % ? END " +
+                "FROM generate_series(1, ?) AS g", USERS, REQUESTS, ITEMS);
+        // у каждой вещи по четыре бронирования в прошлом, настоящем и будущем, статусы чередуются
+        jdbcTemplate.update("INSERT INTO bookings (id, start_date, end_date, item_id, booker_id, status) " +
+                "SELECT g, now() + (g / ? - 2) * interval '1 day', " +
+                "       now() + (g / ? - 2) * interval '1 day' + interval '1 hour', " +
+                "       1 + g % ?, 1 + (g * 7) % ?, " +
+                "       (ARRAY['WAITING', 'APPROVED', 'REJECTED', 'CANCELED'])[1 + (g / ?) % 4] " +
+                "FROM generate_series(0, ? - 1) AS g", ITEMS, ITEMS, ITEMS, USERS, ITEMS, BOOKINGS);
+        jdbcTemplate.update("INSERT INTO comments (id, text, item_id, author_id, created) " +
+                "SELECT g, 'comment ' || g, 1 + g % ?, 1 + g % ?, now() FROM generate_series(1, ?) AS g",
+                ITEMS, USERS, COMMENTS);
+        // последовательности сдвигаются за вставленные идентификаторы, чтобы другие тесты могли сохранять сущности
+        for (String table : List.of("users", "item_requests", "items", "bookings", "comments")) {
+            jdbcTemplate.execute("SELECT setval('" + table + "_seq', (SELECT max(id) FROM " + table + ") + 50)");
+        }
+        jdbcTemplate.execute("ANALYZE");
+        ((ProxyDataSource) dataSource).getProxyConfig().getQueryListener().addListener(new QueryExecutionListener() {
+            @Override
+            public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+            }
+
+            @Override
+            public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+                if (capturing) {
+                    captured.addAll(queryInfoList);
+                }
+            }
+        });
+    }
+
+    @Test
+    void bookingLookupsUseIndexes() {
+        LocalDateTime now = LocalDateTime.now();
+        assertNoSeqScan(() -> bookingRepository.findById(ITEM_ID));
+        assertNoSeqScan(() -> bookingRepository.findItemIdById(ITEM_ID));
+        assertNoSeqScan(() -> bookingRepository.findBusyIntervals(ITEM_ID, now));
+        assertNoSeqScan(() -> bookingRepository.findCompletedBooking(USER_ID, ITEM_ID, now));
+        assertNoSeqScan(() -> bookingRepository.existsApprovedOverlapping(ITEM_ID, now, now.plusDays(1)));
+        assertNoSeqScan(() -> bookingRepository.findLastAndNextBookings(
+                List.of(ITEM_ID, ITEM_ID + 1, ITEM_ID + 2), now));
+    }
+
+    @ParameterizedTest
+    @EnumSource(BookingState.class)
+    void bookingListsUseIndexes(BookingState state) {
+        LocalDateTime now = LocalDateTime.now();
+        PageRequest page = PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "start", "id"));
+        assertNoSeqScan(() -> bookingRepository.findAllAsDto(BookingSpecifications.byBooker(USER_ID)
+                .and(BookingSpecifications.byState(state, now)), page));
+        assertNoSeqScan(() -> bookingRepository.findAllAsDto(BookingSpecifications.byOwner(USER_ID)
+                .and(BookingSpecifications.byState(state, now))
+                .and(BookingSpecifications.after(Cursor.of(now, Long.MAX_VALUE))), page));
+    }
+
+    // поиск LIKE (upper(...) like) - режим для H2, на PostgreSQL работает FULL_TEXT;
+    // findAllAvailable читает все доступные вещи для построения индекса в памяти
+    @Test
+    void itemQueriesUseIndexes() {
+        PageRequest page = PageRequest.of(0, 10, Sort.by(Sort.Direction.ASC, "id"));
+        assertNoSeqScan(() -> itemRepository.findById(ITEM_ID));
+        assertNoSeqScan(() -> itemRepository.findAllById(List.of(ITEM_ID, ITEM_ID + 1)));
+        assertNoSeqScan(() -> itemRepository.findAllByOwnerId(USER_ID, page));
+        assertNoSeqScan(() -> itemRepository.findAllByOwnerIdAndIdGreaterThan(USER_ID, ITEM_ID, page));
+        assertNoSeqScan(() -> itemRepository.findByRequestId(ITEM_ID));
+        assertNoSeqScan(() -> itemRepository.findByRequestIdIn(List.of(ITEM_ID, ITEM_ID + 1, ITEM_ID + 2)));
+        assertNoSeqScan(() -> itemRepository.searchItemIdsByFullText("item 5678", PageRequest.of(0, 10)));
+        assertNoSeqScan(() -> itemRepository.findItemDetailsById(ITEM_ID));
+    }
+
+    private void assertNoSeqScan(Runnable query) {
+        captured.clear();
+        capturing = true;
+        try {
+            query.run();
+        } finally {
+            capturing = false;
+        }
+        assertThat(captured).isNotEmpty();
+        for (QueryInfo queryInfo : new ArrayList<>(captured)) {
+            assertThat(explain(queryInfo))
+                    .as(queryInfo.getQuery())
+                    .doesNotContain("Seq Scan");
+        }
+    }
+
+    private String explain(QueryInfo queryInfo) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("EXPLAIN " + queryInfo.getQuery())) {
+            if (!queryInfo.getParametersList().isEmpty()) {
+                for (ParameterSetOperation parameter : queryInfo.getParametersList().get(0)) {
+                    parameter.getMethod().invoke(statement, parameter.getArgs());
+                }
+            }
+            StringBuilder plan = new StringBuilder();
+            try (ResultSet rows = statement.executeQuery()) {
+                while (rows.next()) {
+                    plan.append(rows.getString(1)).append(System.lineSeparator());
+                }
+            }
+            return plan.toString();
+        } catch (SQLException | ReflectiveOperationException e) {
+            throw new IllegalStateException("Не удалось получить план запроса " + queryInfo.getQuery(), e);
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import ru.practicum.shareit.exception.ConflictException;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// без @Transactional: каждый вызов сервиса фиксирует свою транзакцию, как при параллельных запросах
+@SpringBootTest
+@ActiveProfiles("test")
+class BookingServiceImplTest {
+    private static final int BOOKINGS = 8;
+
+    @Autowired
+    private BookingService service;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private UserRepository userRepository;
+    private User owner;
+    private User booker;
+    private Item item;
+    private final List<Booking> bookings = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(new User(null, "Owner", "concurrent.owner@mail.ru"));
+        booker = userRepository.save(new User(null, "Booker", "concurrent.booker@mail.ru"));
+        item = itemRepository.save(Item.builder()
+                .name("Drill")
+                .description("Cordless drill")
+                .available(true)
+                .owner(owner)
+                .build());
+        // все периоды пересекаются друг с другом
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        for (int i = 0; i < BOOKINGS; i++) {
+            bookings.add(bookingRepository.save(Booking.builder()
+                    .start(start.plusHours(i))
+                    .end(start.plusHours(BOOKINGS + i))
+                    .item(item)
+                    .booker(booker)
+                    .status(BookingStatus.WAITING)
+                    .build()));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        bookingRepository.deleteAllById(bookingIds());
+        itemRepository.deleteById(item.getId());
+        userRepository.deleteAllById(List.of(owner.getId(), booker.getId()));
+    }
+
+    @Test
+    void parallelApprovalsOfOverlappingBookingsApproveExactlyOne() throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(BOOKINGS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Booking>> results = new ArrayList<>();
+        try {
+            for (Booking booking : bookings) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return service.changeBookingStatus(owner.getId(), booking.getId(), true);
+                }));
+            }
+            start.countDown();
+
+            int approved = 0;
+            List<Throwable> failures = new ArrayList<>();
+            for (Future<Booking> result : results) {
+                try {
+                    assertThat(result.get().getStatus()).isEqualTo(BookingStatus.APPROVED);
+                    approved++;
+                } catch (ExecutionException e) {
+                    failures.add(e.getCause());
+                }
+            }
+
+            assertThat(approved).isEqualTo(1);
+            assertThat(failures).hasSize(BOOKINGS - 1).allMatch(ConflictException.class::isInstance);
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(bookingRepository.findAllById(bookingIds()))
+                .filteredOn(booking -> booking.getStatus() == BookingStatus.APPROVED)
+                .hasSize(1);
+    }
+
+    @Test
+    void importRejectsWholeListWhenBookingStartsInPast() {
+        LocalDateTime now = LocalDateTime.now();
+        List<BookingDtoNew> bookingsDto = List.of(
+                new BookingDtoNew(item.getId(), now.plusDays(10), now.plusDays(11)),
+                new BookingDtoNew(item.getId(), now.minusDays(2), now.minusDays(1)));
+        long before = bookingRepository.count();
+
+        assertThatThrownBy(() -> service.importBookings(booker.getId(), bookingsDto))
+                .isInstanceOf(ValidationException.class);
+        assertThat(bookingRepository.count()).isEqualTo(before);
+    }
+
+    private List<Long> bookingIds() {
+        return bookings.stream()
+                .map(Booking::getId)
+                .collect(Collectors.toList());
+    }
+}
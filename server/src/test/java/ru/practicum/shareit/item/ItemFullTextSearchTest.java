@@ -0,0 +1,86 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.user.User;
+
+import javax.persistence.EntityManager;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// поиск в режиме FULL_TEXT работает только на PostgreSQL;
+// запуск: mvn test -Dtest=ItemFullTextSearchTest -Dshareit.test.postgres.url=jdbc:postgresql://localhost:5432/shareit_test
+@SpringBootTest
+@Transactional
+@ActiveProfiles({"test", "postgres"})
+@EnabledIfSystemProperty(named = "shareit.test.postgres.url", matches = ".+")
+class ItemFullTextSearchTest {
+    @Autowired
+    private ItemService service;
+    @Autowired
+    private EntityManager entityManager;
+    private User owner;
+
+    @BeforeEach
+    void setUp() {
+        owner = new User(null, "Owner", "fulltext.owner@mail.ru");
+        entityManager.persist(owner);
+    }
+
+    @Test
+    void searchRanksWordMatchesAboveSubstringMatches() {
+        Item drill = persist("Дрель", "Ударная дрель с кейсом", true);
+        Item screwdriver = persist("Шуруповёрт", "Можно использовать как дрель", true);
+        Item drillBits = persist("Набор свёрл", "Подходит к любой дрельной насадке", true);
+        persist("Старая дрель", "Сломана", false);
+        persist("Пила", "Ножовка по дереву", true);
+        entityManager.flush();
+
+        assertThat(searchIds("дрель")).containsExactly(drill.getId(), screwdriver.getId(), drillBits.getId());
+    }
+
+    @Test
+    void searchMatchesAllWordsOfPhraseInAnyOrder() {
+        Item cordless = persist("Дрель аккумуляторная", "Лёгкая", true);
+        persist("Дрель сетевая", "Тяжёлая", true);
+        entityManager.flush();
+
+        assertThat(searchIds("аккумуляторная дрель")).containsExactly(cordless.getId());
+    }
+
+    @Test
+    void searchPagesRankedResults() {
+        Item first = persist("Молоток", "Молоток для молотка", true);
+        Item second = persist("Кувалда", "Тяжёлый молоток", true);
+        entityManager.flush();
+
+        assertThat(service.searchItems(1, 1, "молоток"))
+                .extracting(ItemDto::getId)
+                .containsExactly(second.getId());
+        assertThat(searchIds("молоток")).containsExactly(first.getId(), second.getId());
+    }
+
+    private List<Long> searchIds(String text) {
+        return service.searchItems(0, 10, text).stream()
+                .map(ItemDto::getId)
+                .collect(Collectors.toList());
+    }
+
+    private Item persist(String name, String description, boolean available) {
+        Item item = Item.builder()
+                .name(name)
+                .description(description)
+                .available(available)
+                .owner(owner)
+                .build();
+        entityManager.persist(item);
+        return item;
+    }
+}
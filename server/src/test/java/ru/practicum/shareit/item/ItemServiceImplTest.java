@@ -0,0 +1,97 @@
+package ru.practicum.shareit.item;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.comment.Comment;
+import ru.practicum.shareit.user.User;
+
+import javax.persistence.EntityManager;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+@ActiveProfiles("test")
+class ItemServiceImplTest {
+    private static final int COMMENTS = 3;
+
+    @Autowired
+    private ItemService service;
+    @Autowired
+    private EntityManager entityManager;
+    private Statistics statistics;
+    private User owner;
+    private User booker;
+    private Item item;
+
+    @BeforeEach
+    void setUp() {
+        owner = persist(new User(null, "Owner", "owner@mail.ru"));
+        booker = persist(new User(null, "Booker", "booker@mail.ru"));
+        item = persist(Item.builder()
+                .name("Drill")
+                .description("Cordless drill")
+                .available(true)
+                .owner(owner)
+                .build());
+        LocalDateTime now = LocalDateTime.now();
+        persist(booking(now.minusDays(3), now.minusDays(2)));
+        persist(booking(now.plusDays(2), now.plusDays(3)));
+        for (int i = 0; i < COMMENTS; i++) {
+            persist(Comment.builder()
+                    .text("Comment " + i)
+                    .item(item)
+                    .author(booker)
+                    .created(now.minusHours(i))
+                    .build());
+        }
+        entityManager.flush();
+        entityManager.clear();
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void getItemByIdForNonOwnerUsesOneStatement() {
+        ItemDto itemDto = service.getItemById(item.getId(), booker.getId());
+
+        assertThat(itemDto.getComments()).hasSize(COMMENTS);
+        assertThat(itemDto.getLastBooking()).isNull();
+        assertThat(itemDto.getNextBooking()).isNull();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void getItemByIdForOwnerUsesTwoStatements() {
+        ItemDto itemDto = service.getItemById(item.getId(), owner.getId());
+
+        assertThat(itemDto.getComments()).hasSize(COMMENTS);
+        assertThat(itemDto.getLastBooking()).isNotNull();
+        assertThat(itemDto.getNextBooking()).isNotNull();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    private Booking booking(LocalDateTime start, LocalDateTime end) {
+        return Booking.builder()
+                .start(start)
+                .end(end)
+                .item(item)
+                .booker(booker)
+                .status(BookingStatus.APPROVED)
+                .build();
+    }
+
+    private <T> T persist(T entity) {
+        entityManager.persist(entity);
+        return entity;
+    }
+}
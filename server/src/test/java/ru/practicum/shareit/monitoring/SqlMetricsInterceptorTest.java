@@ -0,0 +1,64 @@
+package ru.practicum.shareit.monitoring;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// в профиле test превышение лимита запросов к базе данных завершает запрос ошибкой
+@SpringBootTest(properties = {
+    "shareit.monitoring.sql.budgets.get.[/users]=1",
+    "shareit.monitoring.sql.budgets.get.[/items/search]=0"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class SqlMetricsInterceptorTest {
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private MeterRegistry registry;
+
+    @Test
+    void requestWithinBudgetSucceedsAndIsMeasured() throws Exception {
+        mockMvc.perform(get("/users").param("size", "10"))
+                .andExpect(status().isOk());
+
+        DistributionSummary statements = registry.find("shareit.sql.statements")
+                .tags("method", "GET", "uri", "/users")
+                .summary();
+        assertThat(statements).isNotNull();
+        assertThat(statements.count()).isEqualTo(1);
+        assertThat(statements.totalAmount()).isEqualTo(1);
+        assertThat(registry.find("shareit.sql.rows").tags("method", "GET", "uri", "/users").summary())
+                .isNotNull();
+        Timer time = registry.find("shareit.sql.time").tags("method", "GET", "uri", "/users").timer();
+        assertThat(time).isNotNull();
+        assertThat(time.count()).isEqualTo(1);
+        assertThat(registry.find("shareit.sql.budget.exceeded").tags("uri", "/users").counter()).isNull();
+    }
+
+    @Test
+    void requestOverBudgetFails() throws Exception {
+        mockMvc.perform(get("/items/search").param("text", "дрель"))
+                .andExpect(status().isInternalServerError())
+                .andExpect(jsonPath("$.error", containsString("Превышен лимит запросов к базе данных")));
+
+        Counter exceeded = registry.find("shareit.sql.budget.exceeded")
+                .tags("method", "GET", "uri", "/items/search")
+                .counter();
+        assertThat(exceeded).isNotNull();
+        assertThat(exceeded.count()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,110 @@
+package ru.practicum.shareit.request;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.user.User;
+
+import javax.persistence.EntityManager;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+@ActiveProfiles("test")
+class ItemRequestServiceImplTest {
+    private static final int REQUESTS = 30;
+    private static final int ITEMS_PER_REQUEST = 2;
+
+    @Autowired
+    private ItemRequestService service;
+    @Autowired
+    private EntityManager entityManager;
+    private Statistics statistics;
+    private User requester;
+    private User owner;
+
+    @BeforeEach
+    void setUp() {
+        requester = persist(new User(null, "Requester", "requester@mail.ru"));
+        owner = persist(new User(null, "Owner", "owner@mail.ru"));
+        LocalDateTime created = LocalDateTime.now();
+        for (int i = 0; i < REQUESTS; i++) {
+            ItemRequest request = persist(ItemRequest.builder()
+                    .description("Request " + i)
+                    .requester(requester)
+                    .created(created.minusMinutes(i))
+                    .build());
+            for (int j = 0; j < ITEMS_PER_REQUEST; j++) {
+                persist(Item.builder()
+                        .name("Item " + i + "-" + j)
+                        .description("Answer to request " + i)
+                        .available(true)
+                        .owner(owner)
+                        .request(request)
+                        .build());
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 5, REQUESTS})
+    void findAllLoadsPageWithItemsInTwoStatements(int size) {
+        service.findAll(0, size, owner.getId(), null); // проверка пользователя попадает в кэш userExists
+        entityManager.clear();
+        statistics.clear();
+
+        List<ItemRequestDto> page = service.findAll(0, size, owner.getId(), null);
+
+        assertThat(page).hasSize(size)
+                .allSatisfy(request -> assertThat(request.getItems()).hasSize(ITEMS_PER_REQUEST));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 5, REQUESTS})
+    void getAllByUserIdLoadsRequestsWithItemsInTwoStatements(int requests) {
+        User user = persist(new User(null, "User " + requests, "user" + requests + "@mail.ru"));
+        for (int i = 0; i < requests; i++) {
+            ItemRequest request = persist(ItemRequest.builder()
+                    .description("Own request " + i)
+                    .requester(user)
+                    .created(LocalDateTime.now().minusMinutes(i))
+                    .build());
+            persist(Item.builder()
+                    .name("Own item " + i)
+                    .description("Answer to own request " + i)
+                    .available(true)
+                    .owner(owner)
+                    .request(request)
+                    .build());
+        }
+        entityManager.flush();
+        service.getAllByUserId(user.getId());
+        entityManager.clear();
+        statistics.clear();
+
+        List<ItemRequestDto> all = service.getAllByUserId(user.getId());
+
+        assertThat(all).hasSize(requests)
+                .allSatisfy(request -> assertThat(request.getItems()).hasSize(1));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    private <T> T persist(T entity) {
+        entityManager.persist(entity);
+        return entity;
+    }
+}